@@ -0,0 +1,15 @@
+#!/bin/sh
+# Starts the transaction server on localhost and drives load against it.
+# Build first with `mvn package` from the project root; extra arguments are
+# passed to the load test, for example --workers=512 --seconds=60.
+set -e
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-8080}
+java -cp rubank-core/target/classes:rubank-server/target/classes \
+    com.example.project3rubank.server.TransactionServer --port="$PORT" &
+SERVER=$!
+trap 'kill $SERVER 2>/dev/null' EXIT INT TERM
+
+java -cp rubank-bench/target/benchmarks.jar \
+    com.example.project3rubank.bench.TransactionLoadTest --url="http://localhost:$PORT" "$@"
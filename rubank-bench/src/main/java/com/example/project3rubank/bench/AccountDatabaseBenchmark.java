@@ -0,0 +1,63 @@
+package com.example.project3rubank.bench;
+
+import com.example.project3rubank.bank.AccountDatabase;
+import com.example.project3rubank.bank.AccountNumber;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the account lookup behind deposit and withdraw.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AccountDatabaseBenchmark {
+    private static final int LOOKUPS = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private AccountDatabase database;
+    private AccountNumber[] numbers;
+    private int next;
+
+    /**
+     * Builds the database and picks the account numbers to look up.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkData.database(size);
+        Random rand = new Random(BenchmarkData.SEED);
+        numbers = new AccountNumber[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            numbers[i] = database.get(rand.nextInt(size)).getNumber();
+        }
+    }
+
+    /**
+     * Returns the next account number to look up.
+     *
+     * @return the account number.
+     */
+    private AccountNumber nextNumber() {
+        next = (next + 1) & (LOOKUPS - 1);
+        return numbers[next];
+    }
+
+    @Benchmark
+    public void deposit() {
+        database.deposit(nextNumber(), 1.0);
+    }
+
+    @Benchmark
+    public boolean withdraw() {
+        return database.withdraw(nextNumber(), 1.0);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.project3rubank.bench;
+
+import com.example.project3rubank.bank.Account;
+import com.example.project3rubank.bank.Archive;
+import com.example.project3rubank.util.Date;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures printing an archive of closed accounts, each with a few
+ * activities.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ArchiveBenchmark {
+    private static final int ACTIVITIES_PER_ACCOUNT = 3;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Archive archive;
+
+    /**
+     * Closes the given number of accounts into a new archive.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rand = new Random(BenchmarkData.SEED);
+        Date close = new Date("2025-3-1");
+        archive = new Archive();
+        for (int i = 0; i < size; i++) {
+            Account account = BenchmarkData.account(rand, i);
+            for (int j = 0; j < ACTIVITIES_PER_ACCOUNT; j++) {
+                account.addActivity(BenchmarkData.activity(rand));
+            }
+            archive.add(account, close);
+        }
+    }
+
+    @Benchmark
+    public String print() {
+        return archive.print();
+    }
+}
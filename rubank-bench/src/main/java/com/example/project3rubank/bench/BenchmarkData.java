@@ -0,0 +1,215 @@
+package com.example.project3rubank.bench;
+
+import com.example.project3rubank.bank.*;
+import com.example.project3rubank.util.Date;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * This class builds the deterministic fixtures shared by the benchmarks:
+ * in-memory databases, closed accounts and text files in the same format
+ * the loaders parse. Every holder owns about three accounts so the holder
+ * grouping in the reports looks like real data.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+final class BenchmarkData {
+    static final long SEED = 2025;
+    private static final int ACCOUNTS_PER_HOLDER = 3;
+    private static final int[] TERMS = {3, 6, 9, 12};
+    private static final String[] FILE_TYPES = {"checking", "savings", "moneymarket", "college", "certificate"};
+
+    /**
+     * Utility class, no instances.
+     */
+    private BenchmarkData() {
+
+    }
+
+    /**
+     * Creates a database filled with the given number of open accounts.
+     *
+     * @param size the number of accounts to create.
+     * @return the populated database.
+     */
+    static AccountDatabase database(int size) {
+        Random rand = new Random(SEED);
+        AccountDatabase database = new AccountDatabase();
+        for (int i = 0; i < size; i++) {
+            database.add(account(rand, i));
+        }
+        return database;
+    }
+
+    /**
+     * Moves the accounts of a database into a sharded database, in the same order.
+     *
+     * @param database the populated database.
+     * @return the sharded database holding the same accounts.
+     */
+    static ShardedAccountDatabase shardedDatabase(AccountDatabase database) {
+        ShardedAccountDatabase sharded = new ShardedAccountDatabase();
+        for (int i = 0; i < database.size(); i++) {
+            sharded.add(database.get(i));
+        }
+        return sharded;
+    }
+
+    /**
+     * Creates one account, the type, branch and balance are picked from the
+     * random source and the holder is derived from the index.
+     *
+     * @param rand  the random source.
+     * @param index the position of the account in the fixture.
+     * @return the account.
+     */
+    static Account account(Random rand, int index) {
+        Profile holder = holder(index / ACCOUNTS_PER_HOLDER);
+        Branch branch = Branch.values()[rand.nextInt(Branch.values().length)];
+        AccountType type = AccountType.values()[rand.nextInt(AccountType.values().length)];
+        double balance = 1000 + rand.nextInt(9000) + rand.nextInt(100) / 100.0;
+        AccountNumber number = new AccountNumber(branch, type);
+
+        switch (type) {
+            case CHECKING: return new Checking(number, holder, balance);
+            case SAVINGS: return new Savings(number, holder, balance, false);
+            case MONEY_MARKET: return new MoneyMarket(number, holder, balance, balance >= 5000);
+            case COLLEGE_CHECKING: return new CollegeChecking(number, holder, balance, Campus.values()[rand.nextInt(Campus.values().length)]);
+            default: return new CertificateDeposit(number, holder, balance, true, TERMS[rand.nextInt(TERMS.length)], openDate(rand));
+        }
+    }
+
+    /**
+     * Creates the same number of certificate deposit accounts.
+     *
+     * @param size the number of accounts to create.
+     * @return the accounts.
+     */
+    static CertificateDeposit[] certificates(int size) {
+        Random rand = new Random(SEED);
+        CertificateDeposit[] certificates = new CertificateDeposit[size];
+        for (int i = 0; i < size; i++) {
+            Branch branch = Branch.values()[rand.nextInt(Branch.values().length)];
+            certificates[i] = new CertificateDeposit(new AccountNumber(branch, AccountType.CD), holder(i),
+                    1000 + rand.nextInt(9000), true, TERMS[rand.nextInt(TERMS.length)], openDate(rand));
+        }
+        return certificates;
+    }
+
+    /**
+     * Adds a few activities to every account in the database.
+     *
+     * @param database the database holding the accounts.
+     * @param perAccount the number of activities to add to each account.
+     */
+    static void addActivities(AccountDatabase database, int perAccount) {
+        Random rand = new Random(SEED);
+        for (int i = 0; i < database.size(); i++) {
+            Account account = database.get(i);
+            for (int j = 0; j < perAccount; j++) {
+                account.addActivity(activity(rand));
+            }
+        }
+    }
+
+    /**
+     * Writes the given number of accounts to a temporary file in the
+     * accounts.txt format.
+     *
+     * @param size the number of lines to write.
+     * @return the temporary file.
+     * @throws IOException if the file cannot be written.
+     */
+    static File accountsFile(int size) throws IOException {
+        Random rand = new Random(SEED);
+        File file = File.createTempFile("accounts", ".txt");
+        file.deleteOnExit();
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(file))) {
+            for (int i = 0; i < size; i++) {
+                int holder = i / ACCOUNTS_PER_HOLDER;
+                String type = FILE_TYPES[rand.nextInt(FILE_TYPES.length)];
+                Branch branch = Branch.values()[rand.nextInt(Branch.values().length)];
+                out.write(type + "," + branch.name().toLowerCase() + ",First" + holder + ",Last" + holder + ","
+                        + dateOfBirth(holder) + "," + (2000 + rand.nextInt(8000)));
+                if (type.equals("college")) {
+                    out.write("," + Campus.values()[rand.nextInt(Campus.values().length)].getCode());
+                } else if (type.equals("certificate")) {
+                    out.write("," + TERMS[rand.nextInt(TERMS.length)] + "," + openDate(rand));
+                }
+                out.newLine();
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Writes activities for accounts of the database to a temporary file in
+     * the activities.txt format.
+     *
+     * @param database the database whose account numbers are used.
+     * @param size the number of lines to write.
+     * @return the temporary file.
+     * @throws IOException if the file cannot be written.
+     */
+    static File activitiesFile(AccountDatabase database, int size) throws IOException {
+        Random rand = new Random(SEED);
+        File file = File.createTempFile("activities", ".txt");
+        file.deleteOnExit();
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(file))) {
+            for (int i = 0; i < size; i++) {
+                Account account = database.get(rand.nextInt(database.size()));
+                Branch location = Branch.values()[rand.nextInt(Branch.values().length)];
+                out.write((rand.nextBoolean() ? "D," : "W,") + account.getNumber() + "," + openDate(rand) + ","
+                        + location.name().toLowerCase() + "," + (1 + rand.nextInt(500)));
+                out.newLine();
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Creates a random activity.
+     *
+     * @param rand the random source.
+     * @return the activity.
+     */
+    static Activity activity(Random rand) {
+        Branch location = Branch.values()[rand.nextInt(Branch.values().length)];
+        return new Activity(openDate(rand), location, rand.nextBoolean() ? 'D' : 'W', 1 + rand.nextInt(500), rand.nextBoolean());
+    }
+
+    /**
+     * Creates the profile for the holder with the given index.
+     *
+     * @param index the holder index.
+     * @return the profile.
+     */
+    static Profile holder(int index) {
+        String[] dob = dateOfBirth(index).split("/");
+        return new Profile("First" + index, "Last" + index, new Date(dob[2] + "-" + dob[0] + "-" + dob[1]));
+    }
+
+    /**
+     * Returns a date of birth derived from the holder index in mm/dd/yyyy format.
+     *
+     * @param index the holder index.
+     * @return the date of birth.
+     */
+    private static String dateOfBirth(int index) {
+        return (1 + index % 12) + "/" + (1 + index % 28) + "/" + (1960 + index % 40);
+    }
+
+    /**
+     * Returns a random date in 2024.
+     *
+     * @param rand the random source.
+     * @return the date.
+     */
+    private static Date openDate(Random rand) {
+        return new Date("2024-" + (1 + rand.nextInt(12)) + "-" + (1 + rand.nextInt(28)));
+    }
+}
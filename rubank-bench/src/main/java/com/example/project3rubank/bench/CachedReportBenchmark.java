@@ -0,0 +1,53 @@
+package com.example.project3rubank.bench;
+
+import com.example.project3rubank.bank.AccountDatabase;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading the database reports from the report cache. The
+ * database doesn't change between shots, so the first warmup shot prints
+ * the report and every later shot is a hit. Same fixture as ReportBenchmark,
+ * so the two compare directly.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CachedReportBenchmark {
+    private static final int ACTIVITIES_PER_ACCOUNT = 3;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private AccountDatabase database;
+
+    /**
+     * Builds the database and its activities once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkData.database(size);
+        BenchmarkData.addActivities(database, ACTIVITIES_PER_ACCOUNT);
+    }
+
+    @Benchmark
+    public String cachedPrintByBranch() {
+        return database.printByBranch();
+    }
+
+    @Benchmark
+    public String cachedPrintByHolder() {
+        return database.printByHolder();
+    }
+
+    @Benchmark
+    public String cachedPrintByType() {
+        return database.printByType();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.project3rubank.bench;
+
+import com.example.project3rubank.bank.CertificateDeposit;
+import com.example.project3rubank.util.Date;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the closing interest calculation over a portfolio of
+ * certificate deposit accounts, all closed on the same day.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CertificateDepositBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private CertificateDeposit[] certificates;
+    private Date close;
+
+    /**
+     * Creates the certificate deposit accounts once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        certificates = BenchmarkData.certificates(size);
+        close = new Date("2025-3-1");
+    }
+
+    @Benchmark
+    public double calculateClosingInterest() {
+        double total = 0;
+        for (CertificateDeposit certificate : certificates) {
+            total += certificate.calculateClosingInterest(close);
+        }
+        return total;
+    }
+}
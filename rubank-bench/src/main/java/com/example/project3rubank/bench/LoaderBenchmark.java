@@ -0,0 +1,55 @@
+package com.example.project3rubank.bench;
+
+import com.example.project3rubank.bank.AccountDatabase;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of loading an accounts file and applying an
+ * activities file of the same size.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LoaderBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private File accounts;
+    private File activities;
+    private AccountDatabase database;
+
+    /**
+     * Writes the input files and loads the database the activities are applied to.
+     *
+     * @throws IOException if the files cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        accounts = BenchmarkData.accountsFile(size);
+        database = BenchmarkData.database(size);
+        activities = BenchmarkData.activitiesFile(database, size);
+    }
+
+    @Benchmark
+    public AccountDatabase loadAccounts() throws IOException {
+        AccountDatabase loaded = new AccountDatabase();
+        loaded.loadAccounts(accounts);
+        return loaded;
+    }
+
+    @Benchmark
+    public AccountDatabase processActivities() throws IOException {
+        database.processActivities(activities);
+        return database;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.project3rubank.bench;
+
+import com.example.project3rubank.bank.AccountDatabase;
+import com.example.project3rubank.bank.AccountQuery;
+import com.example.project3rubank.bank.AccountType;
+import com.example.project3rubank.bank.Branch;
+import com.example.project3rubank.bank.Profile;
+import com.example.project3rubank.util.Sort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the query API on the four kinds of sources: the holder index,
+ * a range of the number index, a range of a sorted view and the parallel scan.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class QueryBenchmark {
+    private static final int LIMIT = 20;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private AccountDatabase database;
+    private AccountQuery byHolder;
+    private AccountQuery byNumber;
+    private AccountQuery byType;
+    private AccountQuery scan;
+
+    /**
+     * Builds the database, sorts its type view, indexes its numbers and
+     * prepares the queries.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkData.database(size);
+        database.printByType();
+
+        Profile holder = BenchmarkData.holder(size / 6);
+        byHolder = new AccountQuery();
+        byHolder.setHolder(holder);
+
+        byNumber = new AccountQuery();
+        byNumber.setBranch(Branch.BRIDGEWATER);
+        byNumber.setType(AccountType.MONEY_MARKET);
+        database.countByPrefix("");
+
+        byType = new AccountQuery();
+        byType.setType(AccountType.MONEY_MARKET);
+        byType.setCounty("Somerset");
+        byType.setOrder(Sort.BY_TYPE);
+        byType.setLimit(LIMIT);
+
+        scan = new AccountQuery();
+        scan.setMinBalance(9000);
+        scan.setLoyal(false);
+    }
+
+    @Benchmark
+    public long holderIndex() {
+        return database.query(byHolder).count();
+    }
+
+    @Benchmark
+    public long numberIndex() {
+        return database.query(byNumber).count();
+    }
+
+    @Benchmark
+    public long typeView() {
+        return database.query(byType).count();
+    }
+
+    @Benchmark
+    public long parallelScan() {
+        return database.query(scan).count();
+    }
+}
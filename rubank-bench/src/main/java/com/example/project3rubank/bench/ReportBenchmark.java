@@ -0,0 +1,59 @@
+package com.example.project3rubank.bench;
+
+import com.example.project3rubank.bank.AccountDatabase;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering the database reports. The statements carry three
+ * activities per account. The report cache is off, so every shot prints
+ * the report from the accounts; CachedReportBenchmark measures the hits.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReportBenchmark {
+    private static final int ACTIVITIES_PER_ACCOUNT = 3;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private AccountDatabase database;
+
+    /**
+     * Builds the database and its activities once per trial, without a
+     * report cache.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkData.database(size);
+        BenchmarkData.addActivities(database, ACTIVITIES_PER_ACCOUNT);
+        database.setReportCache(null);
+    }
+
+    @Benchmark
+    public String printStatements() {
+        return database.printStatements();
+    }
+
+    @Benchmark
+    public String printByBranch() {
+        return database.printByBranch();
+    }
+
+    @Benchmark
+    public String printByHolder() {
+        return database.printByHolder();
+    }
+
+    @Benchmark
+    public String printByType() {
+        return database.printByType();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.project3rubank.bench;
+
+import com.example.project3rubank.bank.AccountDatabase;
+import com.example.project3rubank.bank.ShardedAccountDatabase;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering the reports of a branch-sharded database, every shard
+ * is printed in parallel and the shards are merged. Same fixture as
+ * ReportBenchmark, so the two compare directly.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ShardedReportBenchmark {
+    private static final int ACTIVITIES_PER_ACCOUNT = 3;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private ShardedAccountDatabase database;
+
+    /**
+     * Builds the database and its activities once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        AccountDatabase accounts = BenchmarkData.database(size);
+        BenchmarkData.addActivities(accounts, ACTIVITIES_PER_ACCOUNT);
+        database = BenchmarkData.shardedDatabase(accounts);
+    }
+
+    @Benchmark
+    public String printStatements() {
+        return database.printStatements();
+    }
+
+    @Benchmark
+    public String printByBranch() {
+        return database.printByBranch();
+    }
+
+    @Benchmark
+    public String printByHolder() {
+        return database.printByHolder();
+    }
+
+    @Benchmark
+    public String printByType() {
+        return database.printByType();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.project3rubank.bench;
+
+import com.example.project3rubank.bank.Account;
+import com.example.project3rubank.bank.AccountDatabase;
+import com.example.project3rubank.util.List;
+import com.example.project3rubank.util.Sort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures sorting a copy of the accounts by each of the report keys,
+ * B (branch), H (holder) and T (type).
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SortBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"B", "H", "T"})
+    public char key;
+
+    private AccountDatabase database;
+    private List<Account> copy;
+
+    /**
+     * Builds the database once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkData.database(size);
+    }
+
+    /**
+     * Copies the accounts in insertion order before every sort, the same way
+     * the reports do.
+     */
+    @Setup(Level.Invocation)
+    public void copy() {
+        copy = new List<>();
+        for (int i = 0; i < database.size(); i++) {
+            copy.add(database.get(i));
+        }
+    }
+
+    @Benchmark
+    public List<Account> account() {
+        Sort.account(copy, key);
+        return copy;
+    }
+}
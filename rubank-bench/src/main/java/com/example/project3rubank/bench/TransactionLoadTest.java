@@ -0,0 +1,174 @@
+package com.example.project3rubank.bench;
+
+import com.example.project3rubank.util.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class drives load against a running TransactionServer: it opens its
+ * own accounts, then every worker runs a mix of deposits, withdrawals and
+ * balance lookups over keep-alive connections until the time is up, and
+ * the throughput and latency percentiles are printed at the end.
+ *
+ *     java -cp rubank-bench/target/benchmarks.jar com.example.project3rubank.bench.TransactionLoadTest
+ *         --url=http://localhost:8080 --workers=256 --accounts=1000 --seconds=30
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public final class TransactionLoadTest {
+    private static final int STARTUP_ATTEMPTS = 100;
+    private static final long STARTUP_WAIT_MILLIS = 100;
+
+    private final HttpClient client;
+    private final String url;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Creates a load test against the server at the given base URL.
+     *
+     * @param url the base URL, for example http://localhost:8080.
+     * @param executor the executor the client completes requests on.
+     */
+    private TransactionLoadTest(String url, ExecutorService executor) {
+        this.url = url;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Opens the accounts the workers use, waiting for the server to come up.
+     *
+     * @param count the number of accounts to open.
+     * @return the account numbers.
+     * @throws IOException if the server cannot be reached or refuses an account.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private String[] openAccounts(int count) throws IOException, InterruptedException {
+        String[] numbers = new String[count];
+        for (int i = 0; i < count; i++) {
+            String form = "type=checking&branch=edison&first=Load" + i + "&last=Test&dob=1/1/1990&balance=100000";
+            HttpResponse<String> response = sendWithRetry(HttpRequest.newBuilder(URI.create(url + "/accounts"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form))
+                    .build());
+            if (response.statusCode() != 201) {
+                throw new IOException("Could not open account " + i + ": " + response.statusCode() + " " + response.body().trim());
+            }
+            numbers[i] = response.body().trim();
+        }
+        return numbers;
+    }
+
+    /**
+     * Sends a request, retrying while the server is still starting.
+     *
+     * @param request the request.
+     * @return the response.
+     * @throws IOException if the server never answers.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private HttpResponse<String> sendWithRetry(HttpRequest request) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return client.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (ConnectException e) {
+                if (attempt == STARTUP_ATTEMPTS) throw e;
+                Thread.sleep(STARTUP_WAIT_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Runs one worker until the deadline: 40% deposits, 30% withdrawals and
+     * 30% balance lookups on random accounts.
+     *
+     * @param numbers  the account numbers.
+     * @param seed     the seed of the worker's random choices.
+     * @param deadline the System.nanoTime() to stop at.
+     */
+    private void work(String[] numbers, long seed, long deadline) {
+        Random rand = new Random(seed);
+        while (System.nanoTime() < deadline) {
+            String account = url + "/accounts/" + numbers[rand.nextInt(numbers.length)];
+            int pick = rand.nextInt(10);
+            HttpRequest request;
+            if (pick < 4) {
+                request = HttpRequest.newBuilder(URI.create(account + "/deposit?amount=10")).POST(HttpRequest.BodyPublishers.noBody()).build();
+            } else if (pick < 7) {
+                request = HttpRequest.newBuilder(URI.create(account + "/withdraw?amount=10")).POST(HttpRequest.BodyPublishers.noBody()).build();
+            } else {
+                request = HttpRequest.newBuilder(URI.create(account + "/balance")).GET().build();
+            }
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                latency.record(System.nanoTime() - start);
+                if (response.statusCode() >= 400 && response.statusCode() != 409) errors.increment();
+            } catch (IOException e) {
+                errors.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs the load test. Options: --url= (default http://localhost:8080),
+     * --workers= (256), --accounts= (1000) and --seconds= (30).
+     *
+     * @param args the options.
+     * @throws Exception if the server cannot be reached.
+     */
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080";
+        int workers = 256;
+        int accounts = 1000;
+        int seconds = 30;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--url=")) url = value;
+            else if (arg.startsWith("--workers=")) workers = Integer.parseInt(value);
+            else if (arg.startsWith("--accounts=")) accounts = Integer.parseInt(value);
+            else if (arg.startsWith("--seconds=")) seconds = Integer.parseInt(value);
+            else throw new IllegalArgumentException("Unknown option: " + arg);
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            TransactionLoadTest test = new TransactionLoadTest(url, executor);
+            String[] numbers = test.openAccounts(accounts);
+            System.out.println("Opened " + numbers.length + " accounts, running " + workers + " workers for " + seconds + "s.");
+
+            long start = System.nanoTime();
+            long deadline = start + seconds * 1_000_000_000L;
+            ArrayList<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                long seed = BenchmarkData.SEED + i;
+                threads.add(Thread.ofVirtual().start(() -> test.work(numbers, seed, deadline)));
+            }
+            for (Thread thread : threads) thread.join();
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            long count = test.latency.getCount();
+            System.out.printf("requests: %d, errors: %d, %.0f requests/s%n", count, test.errors.sum(), count / elapsed);
+            System.out.printf("latency p50 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, max %.3f ms%n",
+                    test.latency.getP50Nanos() / 1e6, test.latency.getP99Nanos() / 1e6,
+                    test.latency.getP999Nanos() / 1e6, test.latency.getMaxNanos() / 1e6);
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package com.example.project3rubank.bank;
+import com.example.project3rubank.util.Date;
+import com.example.project3rubank.util.List;
+import com.example.project3rubank.util.Money;
+
+/**
+ * The account class represents a bank account with an account number, account
+ * holder and an account balance.
+ * It provides methods for depositing, withdrawing and comparing accounts.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public abstract class Account implements Comparable<Account> {
+
+    protected AccountNumber number;
+    protected Profile       holder;
+    protected double        balance;
+    protected ActivityTimeline activities;
+    private String prefix; // "Account#[number] Holder[holder] Balance[$", built on first use
+    private ActivityHistory.Log log; // where older activities are spilled, null to keep them all in memory
+
+    /**
+     * Empty constructor.
+     */
+    public Account() {
+
+    }
+    /**
+     * The constructor for the Account class initializes an object with the
+     * account number, profile holder information and initial balance in their
+     * account.
+     *
+     * @param number    unique account number.
+     * @param holder    the account holder's profile.
+     * @param balance   the initial balance in the holder's account.
+     */
+    public Account(AccountNumber number, Profile holder, double balance) {
+        this.number = number;
+        this.holder = holder;
+        this.balance = balance;
+        this.activities = new ActivityTimeline();
+    }
+
+    /**
+     * Updates and prints the account balance after applying interest and fees.
+     *
+     * @param out       The buffer to print to.
+     * @param interest  Calculated interest amount.
+     * @param fee       Calculated fee amount.
+     * @param apply     True to update the balance, false to only print it.
+     */
+    private void printBalance(StringBuilder out, double interest, double fee, boolean apply) {
+        double newBalance = balance + (interest - fee);
+        if (apply) { balance = newBalance; }
+        Money.append(out.append("\n\t[Balance] $"), newBalance).append('\n');
+    }
+
+    /**
+     *  Prints the interest earned and the fee charged.
+     *
+     * @param out       The buffer to print to.
+     * @param interest  Calculated interest.
+     * @param fee       Calculated fees.
+     */
+    private void printInterestFee(StringBuilder out, double interest, double fee) {
+        Money.append(out.append("\t[interest] $"), interest);
+        Money.append(out.append(" [Fee] $"), fee);
+    }
+
+    /**
+     * Prints the activities of the statement.
+     *
+     * @param out           The buffer to print to.
+     * @param activities    The activities, oldest first.
+     */
+    private void printActivities(StringBuilder out, List<Activity> activities) {
+        if (activities.isEmpty()) return;
+        out.append("\t[Activity]\n");
+        for (Activity activity : activities) {
+            activity.appendTo(out.append("\t\t")).append('\n');
+        }
+    }
+
+    /**
+     *  Adds an account activity (D or W) to the activities list, in date
+     *  order after the activities of the same day.
+     *
+     * @param activity  The recorded activity.
+     */
+    public void addActivity(Activity activity) {
+        if(activity!=null) {
+            if (log != null && log.isAfter(activity.getDate())) {
+                log.insert(activity);
+                return;
+            }
+            activities.add(activity);
+            if (log != null && activities.size() > log.getRecent()) {
+                activities = log.spill(activities);
+            }
+        }
+    }
+
+    /**
+     * Keeps the older activities of the account in a history instead of in
+     * memory, spilling them right away if there are too many. An account
+     * is attached to one history at most, later calls are ignored.
+     *
+     * @param history the history.
+     */
+    void setHistory(ActivityHistory history) {
+        if (log != null) return;
+        log = history.newLog();
+        if (activities.size() > log.getRecent()) {
+            activities = log.spill(activities);
+        }
+    }
+
+
+    /**
+     *  Calculates the monthly interest for the account.
+     *
+     * @return  Monthly interest for the account.
+     */
+    public abstract double interest();  //monthly interest
+
+
+    /**
+     *  Calculates the monthly fee for the account.
+     *
+     * @return  Monthly fee for the account.
+     */
+    public abstract double fee();   //account fee
+
+
+    /**
+     * Template method that generates a statement for an account to display
+     * the account activities, interest and fees.
+     *
+     * @return
+     */
+    public final String statement() {
+        return statement(new StringBuilder(), true, getActivities()).toString();
+    }
+
+    /**
+     * Appends the same statement as statement() to a buffer, applying the
+     * interest and fees, so a report of many statements is printed into one
+     * buffer.
+     *
+     * @param out the buffer.
+     * @return the buffer.
+     */
+    public final StringBuilder appendStatement(StringBuilder out) {
+        return statement(out, true, getActivities());
+    }
+
+    /**
+     * Generates the same statement as statement() without applying the
+     * interest and fees, the balance shown is what it would become.
+     *
+     * @return the statement.
+     */
+    public final String previewStatement() {
+        return statement(new StringBuilder(), false, getActivities()).toString();
+    }
+
+    /**
+     * Generates the same statement as previewStatement() listing only the
+     * activities of a period, found by binary search in the timeline.
+     *
+     * @param from the first day, null for the first activity.
+     * @param to   the last day, null for the last activity.
+     * @return the statement.
+     */
+    public final String previewStatement(Date from, Date to) {
+        return statement(new StringBuilder(), false, getActivities(from, to)).toString();
+    }
+
+    /**
+     * Generates the statement, optionally applying the interest and fees.
+     *
+     * @param out           the buffer to print to.
+     * @param apply         true to update the balance.
+     * @param activities    the activities listed, oldest first.
+     * @return the buffer.
+     */
+    private StringBuilder statement(StringBuilder out, boolean apply, List<Activity> activities) {
+        printActivities(out, activities);
+        double interest = interest();
+        double fee = fee();
+        printInterestFee(out, interest, fee);
+        printBalance(out, interest, fee, apply);
+        return out;
+    }
+
+    /**
+     *  Returns the list containing the activities for each account (the date,
+     *  branch, transaction type and amount. When older activities were
+     *  spilled to a history, they are read back and the list is a copy, use
+     *  addActivity() to add to it.
+     *
+     * @return  The activities for each account, oldest first.
+     */
+    public List<Activity> getActivities() {
+        if (log == null || log.getSpilled() == 0) return activities;
+        return log.history(activities);
+    }
+
+    /**
+     * Counts the activities of the account, the spilled ones included,
+     * without reading them back.
+     *
+     * @return  the number of activities.
+     */
+    int getActivityCount() {
+        return activities.size() + (log == null ? 0 : log.getSpilled());
+    }
+
+    /**
+     * Returns the activities of a period, both days included. The timeline
+     * is in date order, so they are found by binary search instead of a
+     * scan of the whole history.
+     *
+     * @param from  the first day, null for the first activity.
+     * @param to    the last day, null for the last activity.
+     * @return      the activities, oldest first.
+     */
+    public List<Activity> getActivities(Date from, Date to) {
+        if (log == null || log.getSpilled() == 0) return activities.between(from, to);
+        return log.between(activities, from, to);
+    }
+
+    /**
+     * Returns the latest activities.
+     *
+     * @param count the number of activities.
+     * @return      the last count activities, all of them if there are fewer, oldest first.
+     */
+    public List<Activity> getLastActivities(int count) {
+        if (log == null || log.getSpilled() == 0) return activities.last(count);
+        return log.last(activities, count);
+    }
+
+    /**
+     *  Returns the values stored at the number variable.
+     *
+     * @return  returns the values.
+     */
+    public AccountNumber getNumber() { return number; }
+
+    /**
+     * Sets the account number.
+     *
+     * @param number the account number to set
+     */
+    public void setNumber(AccountNumber number) {
+        this.number = number;
+        this.prefix = null;
+    }
+
+    /**
+     *  Returns the values stored at the holder variable.
+     *
+     * @return  returns the values.
+     */
+    public Profile getHolder() { return holder; }
+
+    /**
+     * Returns the value stored at the balance variable.
+     * @return  returns the balance.
+     */
+    public double getBalance() { return balance; }
+
+    /**
+     * Sets the balance for the account.
+     * @param balance   balance for the account.
+     */
+    public void setBalance(double balance) { this.balance = balance; }
+
+    /**
+     * equals() method: Checks if two accounts are equal based on their
+     * account number.
+     *
+     * @param obj   the object to compare with.
+     * @return      returns true if both accounts have the same account number,
+     *              returns false otherwise.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        Account account = (Account) obj;
+
+        // Handle the case where the AccountNumber is null
+        if (this.number != null && account.number != null) {
+            return this.holder.equals(account.holder) &&
+                    this.number.getType().equals(account.number.getType()) &&
+                    this.getNumber() == account.getNumber();
+        } else {
+            // In case the AccountNumber is null, don't compare it.
+            return this.holder.equals(account.holder) &&
+                    (this.number == null && account.number == null);
+        }
+    }
+
+
+    /**
+     * compareTo() method: Compares two accounts using their account numbers.
+     *
+     * @param other the object to be compared.
+     * @return      Negative integer if the account number is less than,
+     *              Positive integer if the account number is greater than,
+     *              Zero if the account numbers are equal.
+     */
+    @Override
+    public int compareTo(Account other) {
+
+        if(this.number.compareTo(other.number)>0) return 1;
+        if(this.number.compareTo(other.number)<0) return -1;
+        return 0;
+    }
+
+    /**
+     * Withdraws the specified amount from the account and updates the balance.
+     *
+     * @param amount    the amount to be withdrawn
+     */
+    public void withdraw(double amount) {
+        if (amount > 0 && balance >= amount) {
+            balance -= amount;
+        }
+    }
+
+    /**
+     * Deposits the specified amount from the account and updates the balance.
+     *
+     * @param amount    the amount to be deposited.
+     */
+    public void deposit(double amount) {
+        if (amount > 0) {
+            balance += amount;
+        }
+    }
+    /**
+     * toString() method: Returns the string representation of the account
+     * in the right format.
+     *
+     * @return  returns the formatted string with the account number, holder,
+     *          balance and branch name.
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends the same text as toString() to a buffer. The number and holder
+     * never change once printed, so that part is built once per account and
+     * the balance is printed without a formatter.
+     *
+     * @param out   the buffer.
+     * @return      the buffer.
+     */
+    public final StringBuilder appendTo(StringBuilder out) {
+        String prefix = this.prefix;
+        if (prefix == null) {
+            StringBuilder build = new StringBuilder().append("Account#[").append(number).append("] Holder[");
+            prefix = holder.appendTo(build).append("] Balance[$").toString();
+            this.prefix = prefix;
+        }
+        Money.append(out.append(prefix), balance).append("] Branch[").append(number.getBranch().name()).append(']');
+        appendDetails(out);
+        return out;
+    }
+
+    /**
+     * Appends what an account type prints after the branch in toString().
+     * An account prints nothing more by default.
+     *
+     * @param out   the buffer.
+     */
+    protected void appendDetails(StringBuilder out) {
+
+    }
+}
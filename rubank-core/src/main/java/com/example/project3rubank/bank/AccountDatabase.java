@@ -0,0 +1,1616 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.bank.BankMetrics.Operation;
+import com.example.project3rubank.util.Date;
+import com.example.project3rubank.util.List;
+import com.example.project3rubank.util.Money;
+import com.example.project3rubank.util.Sort;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The AccountDatabase class manages a collection of bank accounts,
+ * allowing addition, removal, and transactions.
+ * It also provides sorting and printing functionalities to organize
+ * accounts by various criteria.
+ *
+ * Accounts are indexed by their 9-digit number and by holder, and holders
+ * by the trigrams of their names, so lookups don't scan the list. The
+ * database itself is not thread-safe: code that shares it between threads
+ * holds the read lock of getLock() for lookups and balance changes,
+ * synchronizing on the account it changes, and the write lock to open or
+ * close accounts.
+ *
+ * The database keeps running totals of the accounts and balances per
+ * branch, county, type and campus, see getTotals(). The LoyaltyEngine sets
+ * the loyal status of savings and money market accounts as accounts are
+ * opened and closed and balances change.
+ *
+ * The orders the reports list accounts in are kept as sorted views, which
+ * are sorted on first use and dropped when an account is opened or closed,
+ * and so is the index of account numbers, see findByPrefix().
+ * With an ActivityHistory, only the recent activities of an account are kept
+ * in memory, see setHistory().
+ *
+ * Every change that shows in a report bumps the version of the database and
+ * the versions of the branch and type of the changed account, see getVersion().
+ * The reports are cached in a ReportCache with the versions they were printed
+ * from, the branch and type reports one section per branch or type, so
+ * printing again after a deposit only prints the deposit's branch and type.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class AccountDatabase extends List<Account> {
+    private static final int PARALLEL_SCAN_SIZE = 10_000;
+    private static final int STATEMENT_CHUNK_SIZE = 1024; // the fewest accounts printed by one task
+    private static final Comparator<Account> BY_TYPE_ONLY = Comparator.comparing(account -> account.getNumber().getType());
+
+    private final BankMetrics metrics = BankMetrics.getDefault();
+    private final HashMap<String, Account> index = new HashMap<>();
+    private final HashMap<Profile, List<Account>> holders = new HashMap<>();
+    private final HolderIndex holderNames = new HolderIndex();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Character, List<Account>> views = new ConcurrentHashMap<>();
+    private volatile NumberIndex numbers; // built on the first prefix scan, dropped like the views
+    private final AtomicLong version = new AtomicLong(); // bumped after every change that shows in a report
+    private final AtomicLongArray branchVersions = new AtomicLongArray(Branch.values().length);
+    private final AtomicLongArray typeVersions = new AtomicLongArray(AccountType.values().length);
+    private final LongAdder activityCount = new LongAdder(); // the activities of the open accounts
+    private final BankTotals totals;
+    private final LoyaltyEngine loyalty;
+    private final HashMap<String, List<Account>> repeated = new HashMap<>(); // the accounts after the first with a number, in list order
+    private Archive archive;
+    private ActivityHistory history; // null to keep every activity in memory
+    private ReplayGuard replayGuard; // null to apply every record of an activities file
+    private ReportCache reports = new ReportCache(); // null to print every report
+
+    /**
+     * This constructor creates an account database object that holds the
+     * accounts, size and archive.
+     */
+    public AccountDatabase() {
+        this(new Archive(), new BankTotals(), new LoyaltyEngine());
+    }
+
+    /**
+     * Creates a database that moves closed accounts to the given archive,
+     * keeps its totals in the given totals and reports to the given loyalty
+     * engine, used by the shards of a ShardedAccountDatabase to share them.
+     *
+     * @param archive the archive of closed accounts.
+     * @param totals  the running totals.
+     * @param loyalty the loyalty engine.
+     */
+    AccountDatabase(Archive archive, BankTotals totals, LoyaltyEngine loyalty) {
+        super();
+        this.archive = archive;
+        this.totals = totals;
+        this.loyalty = loyalty;
+    }
+
+
+    /**
+     * Getter method to fetch the archive
+     *
+     * @return returns the archive
+     */
+    public Archive getArchive() {
+        return archive;
+    }
+
+    /**
+     * Gets the running totals of the open accounts and their balances.
+     *
+     * @return the totals.
+     */
+    public BankTotals getTotals() {
+        return totals;
+    }
+
+    /**
+     * Gets the number of activities recorded on the open accounts. The count
+     * is kept as activities are recorded and accounts opened or closed, so it
+     * reads no activity and needs no lock.
+     *
+     * @return the activity count.
+     */
+    public long getActivityCount() {
+        return activityCount.sum();
+    }
+
+    /**
+     * Keeps the older activities of the accounts in a history instead of in
+     * memory, see ActivityHistory. The accounts already in the database and
+     * every account opened later are attached to it; closed accounts stay
+     * attached, so the archive reads their activities back too.
+     *
+     * @param history the history.
+     */
+    public void setHistory(ActivityHistory history) {
+        this.history = history;
+        for (Account account : this) {
+            account.setHistory(history);
+        }
+    }
+
+    /**
+     * Gets the history older activities are spilled to.
+     *
+     * @return the history, null if every activity is kept in memory.
+     */
+    public ActivityHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Skips the records of activities files that were applied before, so a
+     * feed delivered twice is applied once, see ReplayGuard.
+     *
+     * @param replayGuard the records applied so far, null to apply every record.
+     */
+    public void setReplayGuard(ReplayGuard replayGuard) {
+        this.replayGuard = replayGuard;
+    }
+
+    /**
+     * Gets the records of activities files applied so far.
+     *
+     * @return the replay guard, null if every record is applied.
+     */
+    public ReplayGuard getReplayGuard() {
+        return replayGuard;
+    }
+
+    /**
+     * Gets the metrics registry the database records its operations into.
+     *
+     * @return the metrics registry.
+     */
+    public BankMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Caches the printed reports in the given cache instead of the default one.
+     *
+     * @param reports the cache, null to print every report from the accounts.
+     */
+    public void setReportCache(ReportCache reports) {
+        this.reports = reports;
+    }
+
+    /**
+     * Gets the cache of printed reports.
+     *
+     * @return the cache, null if the reports are not cached.
+     */
+    public ReportCache getReportCache() {
+        return reports;
+    }
+
+    /**
+     * Gets the version of the database, bumped after every account opened or
+     * closed and every change of an account's balance, activities or status.
+     * Reports printed at the same version are the same.
+     *
+     * @return the version.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Gets the lock that code sharing the database between threads uses.
+     *
+     * @return the read-write lock of the database.
+     */
+    public ReadWriteLock getLock() {
+        return lock;
+    }
+
+    /**
+     * Opens an account by adding it to the database.
+     *
+     * @param account the account to add.
+     */
+    @Override
+    public void add(Account account) {
+        long start = System.nanoTime();
+        super.add(account);
+        views.clear();
+        numbers = null;
+        if (history != null) account.setHistory(history);
+        totals.opened(account);
+        loyalty.opened(account);
+        activityCount.add(account.getActivityCount());
+        holders.computeIfAbsent(account.getHolder(), holder -> {
+            holderNames.add(holder);
+            return new List<>();
+        }).add(account);
+        index(index, repeated, account);
+        holderModified(account);
+        metrics.record(Operation.OPEN, start);
+    }
+
+    /**
+     * Removes an account from the database, used when it's closed.
+     *
+     * @param account the account to remove.
+     */
+    @Override
+    public void remove(Account account) {
+        long start = System.nanoTime();
+        int before = size();
+        super.remove(account);
+        if (size() < before) {
+            views.clear();
+            numbers = null;
+            totals.closed(account);
+            loyalty.closed(account);
+            activityCount.add(-account.getActivityCount());
+            List<Account> accounts = holders.get(account.getHolder());
+            accounts.remove(account);
+            if (accounts.isEmpty()) {
+                holders.remove(account.getHolder());
+                holderNames.remove(account.getHolder());
+            }
+            if (account.getNumber() != null) unindex(account);
+            holderModified(account);
+        }
+        metrics.record(Operation.CLOSE, start);
+    }
+
+    /**
+     * Bumps the versions after an account was opened or closed. Opening or
+     * closing a checking account can change the loyal status of the holder's
+     * savings accounts, so their sections are bumped too.
+     *
+     * @param account the account opened or closed.
+     */
+    private void holderModified(Account account) {
+        modified(account);
+        List<Account> accounts = holders.get(account.getHolder());
+        if (accounts != null && account.getNumber().getType() == AccountType.CHECKING) {
+            for (Account other : accounts) {
+                if (other.getNumber().getType() == AccountType.SAVINGS) modified(other);
+            }
+        }
+    }
+
+    /**
+     * Bumps the version of the database and of the branch and type of an
+     * account, after the account changed. The versions are bumped after the
+     * change, so a report printed meanwhile is cached under the old version
+     * and printed again.
+     *
+     * @param account the account that changed.
+     */
+    private void modified(Account account) {
+        branchVersions.incrementAndGet(account.getNumber().getBranch().ordinal());
+        typeVersions.incrementAndGet(account.getNumber().getType().ordinal());
+        version.incrementAndGet();
+    }
+
+    /**
+     * Indexes an account by its number. The index holds the first account
+     * with a number; the accounts opened later with the same number wait in
+     * their own list, in list order.
+     *
+     * @param index    the first account with every number.
+     * @param repeated the later accounts with every repeated number.
+     * @param account  the account.
+     */
+    private static void index(HashMap<String, Account> index, HashMap<String, List<Account>> repeated, Account account) {
+        if (account.getNumber() == null) return;
+        String number = account.getNumber().toString();
+        if (index.putIfAbsent(number, account) != null) {
+            repeated.computeIfAbsent(number, key -> new List<>()).add(account);
+        }
+    }
+
+    /**
+     * Drops a removed account from the index. When its number was repeated
+     * the next account with the same number takes its place, the first one
+     * in list order like a scan would find.
+     *
+     * @param account the removed account.
+     */
+    private void unindex(Account account) {
+        String number = account.getNumber().toString();
+        List<Account> others = repeated.get(number);
+        if (index.get(number) == account) {
+            if (others == null) {
+                index.remove(number);
+                return;
+            }
+            Account next = others.get(0);
+            index.put(number, next);
+            others.remove(next);
+        } else if (others != null) {
+            others.remove(account);
+        }
+        if (others != null && others.isEmpty()) repeated.remove(number);
+    }
+
+    /**
+     * Gets the accounts sorted in the order of a report. The view is shared
+     * until the next account is opened or closed, so it must not be changed.
+     *
+     * @param key 'B' for branch, 'H' for holder or 'T' for type, as in Sort.account().
+     * @return the sorted accounts.
+     */
+    List<Account> ordered(char key) {
+        return views.computeIfAbsent(key, k -> {
+            List<Account> copy = new List<>();
+            for (int i = 0; i < this.size(); i++) {
+                copy.add(this.get(i));
+            }
+            Sort.account(copy, k);
+            return copy;
+        });
+    }
+
+    /**
+     * Gets the index of the account numbers, building it if an account was
+     * opened or closed since it was last built.
+     *
+     * @return the index.
+     */
+    private NumberIndex numbers() {
+        NumberIndex numbers = this.numbers;
+        if (numbers == null) {
+            synchronized (views) {
+                numbers = this.numbers;
+                if (numbers == null) {
+                    numbers = new NumberIndex(this);
+                    this.numbers = numbers;
+                }
+            }
+        }
+        return numbers;
+    }
+
+    /**
+     * Finds the accounts whose number starts with a prefix, like "200" for
+     * the accounts of Bridgewater or "20003" for its money market accounts,
+     * in number order. The numbers are found by binary search in a sorted
+     * index, see NumberIndex, so no account is scanned. The stream reads the
+     * index lazily, code sharing the database between threads holds the read
+     * lock until it is consumed.
+     *
+     * @param prefix up to 9 digits of the account number.
+     * @return the accounts, none if the prefix is not digits.
+     */
+    public Stream<Account> findByPrefix(String prefix) {
+        return numbers().startingWith(prefix);
+    }
+
+    /**
+     * Counts the accounts whose number starts with a prefix, see findByPrefix().
+     *
+     * @param prefix up to 9 digits of the account number.
+     * @return the number of accounts.
+     */
+    public int countByPrefix(String prefix) {
+        return numbers().count(prefix);
+    }
+
+    /**
+     * Tells whether a list is the current sorted view of a report, that is
+     * no account was opened or closed since it was sorted.
+     *
+     * @param key  'B' for branch, 'H' for holder or 'T' for type.
+     * @param view the list.
+     * @return true if the list is the current view.
+     */
+    boolean isView(char key, List<Account> view) {
+        return views.get(key) == view;
+    }
+
+    /**
+     * Creates a cursor that reads a report a page of rows at a time, for
+     * views that only show the rows in sight, see ReportCursor. Code sharing
+     * the database between threads holds the read lock while the cursor is
+     * created; the cursor takes it itself to print its pages.
+     *
+     * @param key 'B' for branch, 'H' for holder or 'T' for type.
+     * @return the cursor.
+     */
+    public ReportCursor cursor(char key) {
+        return new ReportCursor(this, key, ReportCursor.DEFAULT_PAGE, ReportCursor.DEFAULT_PAGES);
+    }
+
+    /**
+     * Finds the accounts matching a query. The accounts are streamed as the
+     * caller consumes them, nothing is copied. Without an order the results
+     * come in no particular order. The cheapest source that
+     * covers the query is read:
+     *     - the holder index when the query names a holder,
+     *     - the range of the number index starting with the number prefix,
+     *       or with the branch and type codes when the query names both,
+     *     - the range of one type in the sorted type view, or of one branch
+     *       or county in the sorted branch view, when that view is already
+     *       sorted or the query asks for its order anyway,
+     *     - otherwise every account, in parallel for large databases.
+     * The stream reads the database lazily, so code sharing the database
+     * between threads holds the read lock until the stream is consumed.
+     *
+     * @param query the conditions, order and limit.
+     * @return the matching accounts.
+     */
+    public Stream<Account> query(AccountQuery query) {
+        Comparator<Account> order = query.getOrder();
+        Stream<Account> accounts;
+        Comparator<Account> sortedBy = null;
+
+        if (query.getHolder() != null) {
+            List<Account> holderAccounts = holderAccounts(query.getHolder());
+            accounts = stream(holderAccounts, 0, holderAccounts.size(), false);
+        } else if (query.getNumberPrefix() != null) {
+            accounts = findByPrefix(query.getNumberPrefix());
+            sortedBy = Sort.BY_NUMBER;
+        } else if (query.getBranch() != null && query.getType() != null) {
+            accounts = findByPrefix(query.getBranch().getBranchCode() + query.getType().getCode());
+            sortedBy = Sort.BY_NUMBER;
+        } else if (query.getType() != null && usesView('T', order)) {
+            AccountType type = query.getType();
+            accounts = range(ordered('T'), account -> account.getNumber().getType().compareTo(type));
+            sortedBy = Sort.BY_TYPE;
+        } else if ((query.getBranch() != null || query.getCounty() != null) && usesView('B', order)) {
+            Branch branch = query.getBranch();
+            String county = branch != null ? branch.getCounty() : query.getCounty();
+            accounts = range(ordered('B'), account -> {
+                Branch other = account.getNumber().getBranch();
+                int countyComparison = other.getCounty().compareTo(county);
+                if (countyComparison != 0 || branch == null) return countyComparison;
+                return other.name().compareTo(branch.name());
+            });
+            sortedBy = Sort.BY_BRANCH;
+        } else {
+            accounts = stream(this, 0, size(), size() >= PARALLEL_SCAN_SIZE);
+        }
+
+        accounts = accounts.filter(query::matches);
+        if (order == null) accounts = accounts.unordered();
+        else if (order != sortedBy) accounts = accounts.sorted(order);
+        if (query.getLimit() >= 0) accounts = accounts.limit(query.getLimit());
+        return accounts;
+    }
+
+    /**
+     * Checks if a query should read a sorted view: when the view is sorted
+     * already, or when the results are sorted in its order anyway.
+     *
+     * @param key   the key of the view.
+     * @param order the order of the results, null for database order.
+     * @return true to read the view, false to scan.
+     */
+    private boolean usesView(char key, Comparator<Account> order) {
+        return views.containsKey(key) || (order != null && order == Sort.comparator(key));
+    }
+
+    /**
+     * Streams the accounts of a sorted view for which the comparison with
+     * the searched key is 0, found with two binary searches.
+     *
+     * @param view    the sorted view.
+     * @param compare compares an account of the view with the searched key.
+     * @return the accounts in the range, in view order.
+     */
+    private static Stream<Account> range(List<Account> view, ToIntFunction<Account> compare) {
+        int low = 0, high = view.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare.applyAsInt(view.get(middle)) < 0) low = middle + 1;
+            else high = middle;
+        }
+        int first = low;
+        high = view.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare.applyAsInt(view.get(middle)) <= 0) low = middle + 1;
+            else high = middle;
+        }
+        return stream(view, first, low, low - first >= PARALLEL_SCAN_SIZE);
+    }
+
+    /**
+     * Streams part of a list without copying it.
+     *
+     * @param list     the list.
+     * @param from     the first index, inclusive.
+     * @param to       the last index, exclusive.
+     * @param parallel true for a parallel stream.
+     * @return the stream.
+     */
+    private static Stream<Account> stream(List<Account> list, int from, int to, boolean parallel) {
+        IntStream indexes = IntStream.range(from, to);
+        return (parallel ? indexes.parallel() : indexes).mapToObj(list::get);
+    }
+
+    /**
+     * This method prints the archive from the archive class.
+     * The print is cached until the next account is archived.
+     */
+    public String printArchive() {
+        long start = System.nanoTime();
+        ReportCache.Key key = new ReportCache.Key('A', -1);
+        long version = archive.getVersion();
+        String print = cached(key, version);
+        if (print == null) {
+            print = archive.print();
+            cache(key, version, print);
+        }
+
+        metrics.record(Operation.PRINT_ARCHIVE, start);
+        return print;
+    }
+
+    /**
+     * Gets a report or section from the report cache.
+     *
+     * @param key     the report and section.
+     * @param version the current version of the report or section.
+     * @return the text, null if it must be printed.
+     */
+    private String cached(ReportCache.Key key, long version) {
+        ReportCache reports = this.reports;
+        return reports == null ? null : reports.get(key, version);
+    }
+
+    /**
+     * Puts a printed report or section in the report cache.
+     *
+     * @param key     the report and section.
+     * @param version the version it was printed from.
+     * @param text    the text.
+     */
+    private void cache(ReportCache.Key key, long version, String text) {
+        ReportCache reports = this.reports;
+        if (reports != null) reports.put(key, version, text);
+    }
+
+    /**
+     * Prints the accounts of a range of a sorted view, one line each, or
+     * gets them from the report cache.
+     *
+     * @param key     the report and section of the range.
+     * @param version the version of the section.
+     * @param view    the sorted view.
+     * @param from    the first account of the range.
+     * @param to      the end of the range.
+     * @return the accounts.
+     */
+    private String section(ReportCache.Key key, long version, List<Account> view, int from, int to) {
+        String text = cached(key, version);
+        if (text == null) {
+            StringBuilder print = new StringBuilder();
+            for (int i = from; i < to; i++) {
+                view.get(i).appendTo(print).append("\n");
+            }
+            text = print.toString();
+            cache(key, version, text);
+        }
+        return text;
+    }
+
+    /**
+     * Finds the end of the run of accounts equal to the first one in a
+     * sorted view.
+     *
+     * @param view  the sorted view.
+     * @param from  the first account of the run.
+     * @param order an order the view is sorted in.
+     * @return the index after the last account of the run.
+     */
+    static int runEnd(List<Account> view, int from, Comparator<Account> order) {
+        Account first = view.get(from);
+        int low = from + 1;
+        int high = view.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (order.compare(view.get(middle), first) == 0) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     *  This method sorts and groups account statements by holder, then prints them out.
+     *  Large databases are printed in parallel, see printStatements(int).
+     *
+     */
+    public String printStatements() {
+        int chunkSize = size() < PARALLEL_SCAN_SIZE
+                ? Math.max(1, size())
+                : Math.max(STATEMENT_CHUNK_SIZE, size() / (4 * Runtime.getRuntime().availableProcessors()));
+        return printStatements(chunkSize);
+    }
+
+    /**
+     * Prints the statements by holder, cutting the holder order into chunks
+     * of about chunkSize accounts that end where a holder ends. The number
+     * of the first holder of every chunk is counted first, then the chunks
+     * are printed in parallel into buffers of their own and joined in order,
+     * so the text is the same as printing them one after the other. The
+     * statement of an account only changes that account and the totals.
+     *
+     * @param chunkSize the number of accounts per chunk, a chunk is longer
+     *                  when its last holder has more accounts.
+     * @return the statements.
+     */
+    String printStatements(int chunkSize) {
+        long start = System.nanoTime();
+        List<Account> copy = ordered('H');
+
+        List<int[]> chunks = new List<>(); // the first account of every chunk and the number of its holder
+        int count = 0;
+        Profile prevProfile = null;
+        for (int i = 0; i < copy.size(); i++) {
+            Profile profile = copy.get(i).getHolder();
+            if (prevProfile == null || !prevProfile.equals(profile)) {
+                count++;
+                if (chunks.isEmpty() || i - chunks.get(chunks.size() - 1)[0] >= chunkSize) {
+                    chunks.add(new int[] {i, count});
+                }
+            }
+            prevProfile = profile;
+        }
+        StringBuilder[] printed = IntStream.range(0, chunks.size()).parallel()
+                .mapToObj(c -> printStatements(copy, chunks.get(c)[0],
+                        c + 1 < chunks.size() ? chunks.get(c + 1)[0] : copy.size(), chunks.get(c)[1]))
+                .toArray(StringBuilder[]::new);
+
+        int length = 64;
+        for (StringBuilder chunk : printed) length += chunk.length();
+        StringBuilder print = new StringBuilder(length);
+        print.append("*Account statements by account holder.").append("\n");
+        for (StringBuilder chunk : printed) print.append(chunk);
+        print.append("\n*end of statements.");
+
+        metrics.record(Operation.PRINT_STATEMENTS, start);
+        return print.toString();
+    }
+
+    /**
+     * Prints the statements of a range of the holder order that starts with
+     * the first account of a holder.
+     *
+     * @param copy  the accounts in holder order.
+     * @param from  the first account of the range.
+     * @param to    the end of the range.
+     * @param count the number of the first holder of the range.
+     * @return the statements.
+     */
+    private StringBuilder printStatements(List<Account> copy, int from, int to, int count) {
+        StringBuilder print = new StringBuilder();
+        Profile prevProfile = null;
+        count--;
+        for (int i = from; i < to; i++) {
+            Account account = copy.get(i);
+            Profile profile = account.getHolder();
+
+            if (prevProfile == null || !prevProfile.equals(profile)) {
+                count++;
+                print.append("\n").append(count).append(". ").append(profile.getFirstName()).append(" ").append(profile.getLastName()).append(" ");
+                profile.getDateOfBirth().appendTo(print).append("\n");
+            }
+            print.append("\t[Account#] ").append(account.getNumber()).append("\n");
+            statement(account, print);
+            prevProfile = profile;
+        }
+        return print;
+    }
+
+    /**
+     * Updates the totals and the loyalty status after a balance changed.
+     *
+     * @param account the account.
+     * @param before  the balance before the change.
+     */
+    private void balanceChanged(Account account, double before) {
+        totals.changed(account, account.getBalance() - before);
+        loyalty.balanceChanged(account);
+        modified(account);
+    }
+
+    /**
+     * Generates the statement of an account, applying the monthly interest
+     * and fees to its balance, the totals and the loyalty status.
+     *
+     * @param account the account.
+     * @param out     the buffer the statement is printed to.
+     * @return the buffer.
+     */
+    StringBuilder statement(Account account, StringBuilder out) {
+        double before = account.getBalance();
+        account.appendStatement(out);
+        balanceChanged(account, before);
+        return out;
+    }
+
+    /**
+     * This method is used to load the accounts into the database from the accounts.txt file.
+     * The load is atomic: every line is parsed and indexed first, see
+     * stageAccounts(), and the accounts are only published if the whole file
+     * could be read. If a line cannot be parsed, no account is added.
+     *
+     * @param file the text file used to parse the accounts
+     * @throws IOException used for exception handling for the text file
+     */
+    public void loadAccounts(File file) throws IOException {
+        long start = System.nanoTime();
+        try {
+            publish(stageAccounts(file));
+        } finally {
+            metrics.record(Operation.LOAD_ACCOUNTS, start);
+        }
+    }
+
+    /**
+     * Reads the accounts file line by line into a staging area, with the
+     * accounts indexed by number and holder, without touching the database.
+     * Nothing needs to be undone if the file cannot be read: the staging
+     * area is simply dropped.
+     *
+     * @param file the text file used to parse the accounts
+     * @return the accounts, ready for publish().
+     * @throws IOException used for exception handling for the text file
+     */
+    public Staging stageAccounts(File file) throws IOException {
+        Staging staging = new Staging();
+        try (BufferedReader in = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                Account account = parseAccount(line);
+                if (account != null) { staging.add(account); }
+            }
+        }
+        return staging;
+    }
+
+    /**
+     * Loads the accounts file, skipping the lines that cannot be parsed
+     * instead of stopping at the first one. The bad lines are copied to the
+     * quarantine file and reported with their line number, field and reason.
+     * Lines with an unknown account type are rejected too. The good lines are
+     * published together once the whole file is read, like loadAccounts().
+     *
+     * @param file       the text file used to parse the accounts.
+     * @param quarantine the file the bad lines are copied to, null to only report them.
+     * @return the summary of the load.
+     * @throws IOException if the file cannot be read or the quarantine file cannot be written.
+     */
+    public LoadReport loadAccounts(File file, File quarantine) throws IOException {
+        long start = System.nanoTime();
+        LoadReport report = new LoadReport(file, quarantine);
+        Staging staging = new Staging();
+        try (report; BufferedReader in = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                report.read();
+                Account account;
+                try {
+                    account = parseAccount(line);
+                } catch (BadLineException e) {
+                    report.reject(line, e.getField(), e.getReason());
+                    continue;
+                }
+                if (account == null) {
+                    report.reject(line, "type", "is unknown");
+                } else {
+                    staging.add(account);
+                    report.loaded();
+                }
+            }
+            publish(staging);
+        } finally {
+            metrics.record(Operation.LOAD_ACCOUNTS, start);
+        }
+        return report;
+    }
+
+    /**
+     * Adds the staged accounts to the database in one step under the write
+     * lock, so threads holding the read lock see either none or all of them.
+     * The accounts are opened in file order, the totals and loyalty status
+     * end up as if they had been added one by one.
+     *
+     * @param staging the accounts from stageAccounts().
+     */
+    public void publish(Staging staging) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            for (Account account : staging.accounts) {
+                super.add(account);
+                if (history != null) account.setHistory(history);
+                totals.opened(account);
+                loyalty.opened(account);
+            }
+            for (Map.Entry<Profile, List<Account>> entry : staging.holders.entrySet()) {
+                List<Account> accounts = holders.putIfAbsent(entry.getKey(), entry.getValue());
+                if (accounts != null) {
+                    for (Account account : entry.getValue()) accounts.add(account);
+                } else {
+                    holderNames.add(entry.getKey());
+                }
+            }
+            for (Account account : staging.index.values()) {
+                index(index, repeated, account);
+            }
+            for (List<Account> accounts : staging.repeated.values()) {
+                for (Account account : accounts) index(index, repeated, account);
+            }
+            views.clear();
+            numbers = null;
+            for (int i = 0; i < branchVersions.length(); i++) branchVersions.incrementAndGet(i);
+            for (int i = 0; i < typeVersions.length(); i++) typeVersions.incrementAndGet(i);
+            version.incrementAndGet();
+        } finally {
+            write.unlock();
+        }
+    }
+
+    /**
+     * Accounts read from a file and indexed, waiting to be added to the
+     * database by publish().
+     */
+    public static class Staging {
+        private final List<Account> accounts = new List<>();
+        private final HashMap<String, Account> index = new HashMap<>();
+        private final HashMap<Profile, List<Account>> holders = new HashMap<>();
+        private final HashMap<String, List<Account>> repeated = new HashMap<>();
+
+        /**
+         * Creates an empty staging, only stageAccounts() fills one.
+         */
+        Staging() {
+
+        }
+
+        /**
+         * Stages an account, indexing it like add() would.
+         *
+         * @param account the account.
+         */
+        private void add(Account account) {
+            accounts.add(account);
+            holders.computeIfAbsent(account.getHolder(), holder -> new List<>()).add(account);
+            index(index, repeated, account);
+        }
+
+        /**
+         * Gets the number of staged accounts.
+         *
+         * @return the number of accounts.
+         */
+        public int size() {
+            return accounts.size();
+        }
+    }
+
+    /**
+     * Parses one line of the accounts file and creates the account with a
+     * new account number. The loyalty status is set when it's added.
+     *
+     * @param line the line, type,branch,first name,last name,dob,balance and
+     *             the campus code or the term and opening date.
+     * @return the account, null for an unknown account type.
+     * @throws IOException if the line cannot be parsed.
+     */
+    static Account parseAccount(String line) throws IOException {
+        String field = "type"; // the field being read, for the error
+        try {
+            StringTokenizer token = new StringTokenizer(line, ",");
+            String type = token.nextToken().toLowerCase();
+            field = "branch";
+            String branchTxt = token.nextToken(); // branch and type
+            field = "first name";
+            String fName = token.nextToken();
+            field = "last name";
+            String lName = token.nextToken();
+            field = "date of birth";
+            String dateString = token.nextToken();
+            String[] parts = dateString.split("/");
+            String newDate = parts[2] + "-" + parts[0] + "-" + parts[1];
+            Date dob = new Date(newDate);
+            field = "balance";
+            Double balance = Double.parseDouble(token.nextToken());
+            Profile holder = new Profile(fName, lName, dob);
+            field = "branch";
+            Branch branch = Branch.valueOf(branchTxt.toUpperCase());
+            AccountNumber number = null;
+            Account account = null;
+            boolean isLoyal = false;
+            switch (type) {
+                case "checking": number = new AccountNumber(branch, AccountType.CHECKING); account = new Checking(number, holder, balance); break;
+                case "savings": number = new AccountNumber(branch, AccountType.SAVINGS);account = new Savings(number, holder, balance, isLoyal);break;
+                case "moneymarket": number = new AccountNumber(branch, AccountType.MONEY_MARKET);account = new MoneyMarket(number, holder, balance, isLoyal);break;
+                case "college": number = new AccountNumber(branch, AccountType.COLLEGE_CHECKING);field = "campus";String campusCode = token.nextToken();Campus campus = null;for (Campus c : Campus.values()) {if (c.getCode().equals(campusCode)) {campus = c;break;}} account = new CollegeChecking(number, holder, balance, campus); break;
+                case "certificate": number = new AccountNumber(branch, AccountType.CD);field = "term";int term = Integer.parseInt(token.nextToken());field = "open date";String str = token.nextToken();String[] dateSplit = str.split("/");String newCDDate = dateSplit[2] + '-' + dateSplit[0] + "-" + dateSplit[1];Date open = new Date(newCDDate);account = new CertificateDeposit(number, holder, balance, isLoyal, term, open);
+            }
+            return account;
+        } catch (Exception e) { throw new BadLineException(field, e); }
+    }
+
+    /**
+     *  Processes the account activities and updates the respective account.
+     *
+     * @param file      File with the transaction records.
+     * @throws IOException      Handles errors that occurs when reading the file.
+     */
+    public void processActivities(File file) throws IOException {
+        long start = System.nanoTime();
+        try {
+            readActivities(file);
+        } finally {
+            metrics.record(Operation.PROCESS_ACTIVITIES, start);
+        }
+    }
+
+    /**
+     * Reads the activities file line by line and applies every activity to
+     * its account.
+     *
+     * @param file      File with the transaction records.
+     * @throws IOException      Handles errors that occurs when reading the file.
+     */
+    private void readActivities(File file) throws IOException {
+        Scanner scanner = new Scanner(file);
+        long position = 0;
+        while (scanner.hasNextLine()) {
+            ActivityLine line = parseActivity(scanner.nextLine(), ++position);
+            Account account = findAccount(line.number());
+            if (account != null) {
+                applyActivity(account, line);
+            }
+        }
+        scanner.close();
+    }
+
+    /**
+     * Processes the activities file, skipping the lines that cannot be parsed
+     * instead of stopping at the first one. The bad lines are copied to the
+     * quarantine file and reported with their line number, field and reason.
+     * Lines for an account that is not in the database are rejected too.
+     *
+     * @param file       File with the transaction records.
+     * @param quarantine the file the bad lines are copied to, null to only report them.
+     * @return the summary of the load.
+     * @throws IOException if the file cannot be read or the quarantine file cannot be written.
+     */
+    public LoadReport processActivities(File file, File quarantine) throws IOException {
+        long start = System.nanoTime();
+        LoadReport report = new LoadReport(file, quarantine);
+        try (report; BufferedReader in = new BufferedReader(new FileReader(file))) {
+            String text;
+            while ((text = in.readLine()) != null) {
+                ActivityLine line;
+                try {
+                    line = parseActivity(text, report.read());
+                } catch (BadLineException e) {
+                    report.reject(text, e.getField(), e.getReason());
+                    continue;
+                }
+                Account account = findAccount(line.number());
+                if (account == null) {
+                    report.reject(text, "account number", "does not exist");
+                } else {
+                    applyActivity(account, line);
+                    report.loaded();
+                }
+            }
+        } finally {
+            metrics.record(Operation.PROCESS_ACTIVITIES, start);
+        }
+        return report;
+    }
+
+    /**
+     * Parses one line of the activities file, type,account number,date,
+     * location and amount.
+     *
+     * @param line     the line.
+     * @param position the line number, counted from 1.
+     * @return the account number and the activity.
+     * @throws IOException if the line cannot be parsed.
+     */
+    static ActivityLine parseActivity(String line, long position) throws IOException {
+        String field = "type"; // the field being read, for the error
+        try {
+            StringTokenizer token = new StringTokenizer(line, ",");
+            char type = token.nextToken().charAt(0);
+            field = "account number";
+            String number = token.nextToken();
+            field = "date";
+            String dateString = token.nextToken();
+            String[] parts = dateString.split("/");
+            String newDate = parts[2] + '-' + parts[0] + "-" + parts[1];
+            Date date = new Date(newDate);
+            field = "branch";
+            String branchTxt = token.nextToken().toLowerCase();
+            field = "amount";
+            int amount = Integer.parseInt(token.nextToken());
+            field = "branch";
+            Branch location = Branch.valueOf(branchTxt.toUpperCase());
+            boolean atm = true;
+            return new ActivityLine(number, new Activity(date, location, type, amount, atm), position);
+        } catch (Exception e) { throw new BadLineException(field, e); }
+    }
+
+    /**
+     * Applies a record of an activities file to its account, unless the
+     * replay guard has seen the record before.
+     *
+     * @param account the account of the record.
+     * @param line    the record.
+     */
+    void applyActivity(Account account, ActivityLine line) {
+        if (replayGuard != null && !replayGuard.firstSeen(ReplayGuard.key(line.number(), line.activity(), line.position()))) {
+            return;
+        }
+        applyActivity(account, line.activity());
+    }
+
+    /**
+     * Records an activity of the activities file on its account and applies
+     * it to the balance, counting the withdrawals of a money market account.
+     *
+     * @param account  the account of the activity.
+     * @param activity the activity.
+     */
+    void applyActivity(Account account, Activity activity) {
+        account.addActivity(activity);
+        activityCount.increment();
+        double before = account.getBalance();
+        if (activity.getType() == 'D') { account.deposit(activity.getAmount());
+            balanceChanged(account, before);
+        } else if (activity.getType() == 'W') { account.withdraw(activity.getAmount());
+            balanceChanged(account, before);
+            if (account.getNumber().getType() == AccountType.MONEY_MARKET) {
+                MoneyMarket moneyAcc = (MoneyMarket) account;
+                moneyAcc.incrementWithdrawals();
+                modified(account);
+            }
+        }
+    }
+
+    /**
+     * One parsed line of the activities file.
+     *
+     * @param number   the 9-digit number of the account.
+     * @param activity the activity.
+     * @param position the line number in the file, counted from 1.
+     */
+    record ActivityLine(String number, Activity activity, long position) {
+
+    }
+
+    /**
+     * Finds the account with the given 9-digit account number.
+     *
+     * @param number the account number as a string.
+     * @return the account, null if no account has the number.
+     */
+    public Account findAccount(String number) {
+        return index.get(number);
+    }
+
+    /**
+     * Gets the open accounts of a holder, in the order they were opened.
+     * The list is the index itself, so it must not be changed.
+     *
+     * @param holder the holder, names compared ignoring case.
+     * @return the accounts, empty if the holder has none.
+     */
+    List<Account> holderAccounts(Profile holder) {
+        List<Account> accounts = holders.get(holder);
+        return accounts != null ? accounts : new List<>();
+    }
+
+    /**
+     * Gets the open accounts of a holder, in the order they were opened.
+     *
+     * @param holder the holder, names compared ignoring case.
+     * @return a copy of the accounts, empty if the holder has none.
+     */
+    public List<Account> getHolderAccounts(Profile holder) {
+        List<Account> accounts = new List<>();
+        for (Account account : holderAccounts(holder)) accounts.add(account);
+        return accounts;
+    }
+
+    /**
+     * Finds the holders whose names match what a teller typed, ignoring
+     * case: every word must be in the first or last name, and a word of one
+     * or two letters must start it, see HolderIndex. The holders are found
+     * through the trigrams of their names, not by scanning the accounts, and
+     * come in the order they opened their first account.
+     *
+     * @param text  the words, like "ann pe".
+     * @param limit the most holders returned.
+     * @return the holders with open accounts, see getHolderAccounts().
+     */
+    public List<Profile> findHolders(String text, int limit) {
+        return holderNames.find(text, limit);
+    }
+
+    /**
+     * Checks if the holder has a checking account, which makes their savings
+     * accounts loyal.
+     *
+     * @param profile the profile to compare
+     * @return returns true if it has a checking account, otherwise false
+     */
+    public boolean hasChecking(Profile profile) {
+        List<Account> accounts = holderAccounts(profile);
+        for (int i = 0; i < accounts.size(); i++) {
+            if (accounts.get(i).getNumber().getType() == AccountType.CHECKING) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the account that keeps a holder from opening another account of
+     * the same type. A holder can have several CD accounts with different terms.
+     *
+     * @param profile   the profile to compare
+     * @param type      the account type to compare
+     * @param term      the term to compare for CD accounts
+     * @return returns the account if there's a duplicate, null otherwise.
+     */
+    public Account findDuplicateAccount(Profile profile, AccountType type, int term) {
+        List<Account> accounts = holderAccounts(profile);
+        for (int i = 0; i < accounts.size(); i++) {
+            Account account = accounts.get(i);
+            if (account.getNumber().getType() != type) continue;
+            if (type != AccountType.CD || ((CertificateDeposit) account).getTerm() == term) {
+                return account;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Processes the activities in the file, then prints every activity of
+     * each account named in the file, in the order the accounts first appear.
+     *
+     * @param file the file used to process the activities
+     * @return returns the string that prints out the activities
+     * @throws IOException exception handler to handle the file
+     */
+    public String printActivities(File file) throws IOException {
+        StringBuilder print = new StringBuilder();
+        print.append("Processing \"").append(file.getName()).append("\"...\n");
+        processActivities(file);
+        appendActivities(file, print);
+        print.append("Account activities in \"").append(file.getName()).append("\" processed.\n");
+        return print.toString();
+    }
+
+    /**
+     * Processes the activities in the file like processActivities(File, File),
+     * then prints every activity of each account named in the file and the
+     * summary of the bad lines.
+     *
+     * @param file       the file used to process the activities
+     * @param quarantine the file the bad lines are copied to, null to only report them.
+     * @return returns the string that prints out the activities
+     * @throws IOException if the file cannot be read or the quarantine file cannot be written.
+     */
+    public String printActivities(File file, File quarantine) throws IOException {
+        StringBuilder print = new StringBuilder();
+        print.append("Processing \"").append(file.getName()).append("\"...\n");
+        LoadReport report = processActivities(file, quarantine);
+        appendActivities(file, print);
+        print.append("Account activities in \"").append(file.getName()).append("\" processed.\n");
+        return print.append(report.print()).toString();
+    }
+
+    /**
+     * Prints every activity of each account named in the activities file, in
+     * the order the accounts first appear. Lines without an account number
+     * are skipped.
+     *
+     * @param file  the activities file.
+     * @param print the buffer the activities are printed to.
+     * @throws IOException if the file cannot be read.
+     */
+    private void appendActivities(File file, StringBuilder print) throws IOException {
+        Scanner scanner = new Scanner(file);
+        List<String> printedAccounts = new List<>();
+
+        while (scanner.hasNextLine()) {
+            StringTokenizer token = new StringTokenizer(scanner.nextLine(), ",");
+            if (token.countTokens() < 2) continue;
+            token.nextToken();
+            String accountNumber = token.nextToken();
+
+            Account account = findAccount(accountNumber);
+            if (account != null) {
+                if (printedAccounts.contains(accountNumber)) {
+                    continue;
+                }
+                printedAccounts.add(accountNumber);
+
+                if (account.getActivities() != null) {
+                    List<Activity> activities = account.getActivities();
+                    for (int i = 0; i < activities.size(); i++) {
+                        Activity activity = activities.get(i);
+                        activity.appendTo(print.append(accountNumber).append("::")).append("\n");
+                    }
+                }
+            }
+        }
+        scanner.close();
+    }
+
+    /**
+     * Checks if the closing date is earlier than the opening date of a
+     * certificate deposit account, such an account can't be closed.
+     *
+     * @param account the account to close.
+     * @param close   the closing date.
+     * @return true if the account is a CD opened after the closing date, false otherwise.
+     */
+    public static boolean isClosedBeforeOpening(Account account, Date close) {
+        return account instanceof CertificateDeposit cd && close.compareTo(cd.getOpen()) < 0;
+    }
+
+    /**
+     * Calculates the interest at closing of non-CD accounts, the daily
+     * interest for each day of the closing month so far.
+     *
+     * @param account the account to compare the account type
+     * @param close   the close date, to get the day of the date
+     * @return returns the interest of non-CD accounts using the formula
+     */
+    public double calculateInterestClosing(Account account, Date close) {
+        int day = close.getDay();
+        double rate = 0.0;
+        double balance = account.getBalance();
+        double days_per_year = 365.0;
+
+        if (account.getNumber().getType() == AccountType.CHECKING) {
+            rate = Checking.ANNUAL_INTEREST_RATE;
+        } else if (account.getNumber().getType() == AccountType.SAVINGS) {
+            Savings savingsAcc = (Savings) account;
+            if (savingsAcc.isLoyal())
+                rate = Savings.LOYALTY_BONUS + Savings.ANNUAL_INTEREST_RATE;
+            else {
+                rate = Savings.ANNUAL_INTEREST_RATE;
+            }
+        } else if (account.getNumber().getType() == AccountType.MONEY_MARKET) {
+            rate = MoneyMarket.ANNUAL_INTEREST_RATE;
+        } else if (account.getNumber().getType() == AccountType.COLLEGE_CHECKING) {
+            rate = CollegeChecking.ANNUAL_INTEREST_RATE;
+        }
+        return (balance * (rate / days_per_year) * day);
+    }
+
+    /**
+     * Closes an account: prints the interest earned (and the penalty for a CD
+     * closed before maturity), moves the account to the archive and, when a
+     * checking account is closed, removes the loyal status of the holder's
+     * savings accounts. The caller checks isClosedBeforeOpening() first.
+     *
+     * @param account the account to close.
+     * @param close   the closing date.
+     * @return the closing summary.
+     */
+    public String closeAccount(Account account, Date close) {
+        StringBuilder print = new StringBuilder();
+        print.append("Closing account ").append(account.getNumber().toString()).append("\n");
+        if (account.getNumber().getType() != AccountType.CD) {
+            double interest = calculateInterestClosing(account, close);
+            Money.append(print.append("--interest earned: $"), interest).append("\n");
+        } else {
+            CertificateDeposit cd = (CertificateDeposit) account;
+            double interest = cd.calculateClosingInterest(close);
+            Money.append(print.append("--interest earned: $"), interest).append("\n");
+            if (close.compareTo(cd.getMaturityDate()) < 0) {
+                Money.append(print.append("--penalty: $"), cd.calculatePenalty(close)).append("\n");
+            }
+        }
+        archive.add(account, close);
+        remove(account);
+        return print.toString();
+    }
+
+    /**
+     * Closes all the accounts of a holder and moves them to the archive.
+     * The caller checks isClosedBeforeOpening() for the holder's accounts first.
+     *
+     * @param holder the holder whose accounts are closed.
+     * @param close  the closing date.
+     * @return the closing summary, null if the holder has no accounts.
+     */
+    public String closeAccounts(Profile holder, Date close) {
+        String closed = closeHolderAccounts(holder, close);
+        if (closed.isEmpty()) return null;
+        return "Closing accounts for " + holder.getFirstName() + " " + holder.getLastName() + " " + holder.getDateOfBirth() + "\n"
+                + closed
+                + "All accounts for " + holder.getFirstName() + " " + holder.getLastName()
+                + " " + holder.getDateOfBirth() + " are closed and moved to archive." + "\n";
+    }
+
+    /**
+     * Closes the holder's accounts in this database, the most recently
+     * opened first, and moves them to the archive.
+     *
+     * @param holder the holder whose accounts are closed.
+     * @param close  the closing date.
+     * @return the interest line of every closed account, empty if the holder has no accounts.
+     */
+    String closeHolderAccounts(Profile holder, Date close) {
+        StringBuilder print = new StringBuilder();
+        List<Account> accounts = holderAccounts(holder);
+        for (int i = accounts.size() - 1; i >= 0; i--) {
+            Account account = accounts.get(i);
+            if (account.getNumber().getType() == AccountType.CD) {
+                CertificateDeposit cd = (CertificateDeposit) account;
+                double interest = cd.calculateClosingInterest(close);
+                double penalty = cd.calculatePenalty(close);
+                Money.append(print.append("--").append(account.getNumber()).append(" interest earned: $"), interest).append("\n");
+                Money.append(print.append("  [penalty] $"), penalty).append("\n");
+            } else {
+                double interest = calculateInterestClosing(account, close);
+                Money.append(print.append("--").append(account.getNumber()).append(" interest earned: $"), interest).append("\n");
+            }
+            archive.add(account, close);
+            remove(account);
+        }
+        return print.toString();
+    }
+
+    /**
+     * This method updates the database and withdraws the amount from an account.
+     *
+     * @param number the account number to withdraw from.
+     * @param amount the amount of money to withdraw.
+     * @return returns true if number is found and withdraws, false otherwise.
+     */
+    public boolean withdraw(AccountNumber number, double amount) {
+        long start = System.nanoTime();
+        Account account = findAccount(number.toString());
+        boolean withdrawn = account != null && withdrawFrom(account, amount);
+        metrics.record(Operation.WITHDRAW, start);
+        return withdrawn;
+    }
+
+    /**
+     * Withdraws the amount from an account if the balance covers it.
+     *
+     * @param account the account to withdraw from.
+     * @param amount  the amount of money to withdraw.
+     * @return true if the amount was withdrawn, false if the balance is too low.
+     */
+    private boolean withdrawFrom(Account account, double amount) {
+        if (account.getBalance() < amount) return false;
+        double before = account.getBalance();
+        account.withdraw(amount);
+        balanceChanged(account, before);
+        return true;
+    }
+
+    /**
+     * Withdraws at the teller: withdraws the amount if the balance covers it,
+     * records the activity and counts the withdrawal of a money market account.
+     * The account given is the one changed, it is not looked up by number
+     * since account numbers can repeat.
+     *
+     * @param account the account to withdraw from.
+     * @param amount  the amount of money to withdraw.
+     * @param date    the date of the withdrawal.
+     * @return true if the amount was withdrawn, false if the balance is too low.
+     */
+    public boolean withdraw(Account account, double amount, Date date) {
+        if (account.getBalance() < amount) return false;
+        long start = System.nanoTime();
+        account.addActivity(new Activity(date, account.getNumber().getBranch(), 'W', amount, false));
+        activityCount.increment();
+        withdrawFrom(account, amount);
+        metrics.record(Operation.WITHDRAW, start);
+        if (account instanceof MoneyMarket moneyAcc) {
+            moneyAcc.incrementWithdrawals();
+            modified(account);
+        }
+        return true;
+    }
+
+    /**
+     * This method updates the database and deposits the amount from an account.
+     *
+     * @param number the account number to deposit from
+     * @param amount the amount of money to deposit
+     */
+    public void deposit(AccountNumber number, double amount) {
+        long start = System.nanoTime();
+        Account account = findAccount(number.toString());
+        if (account != null) depositTo(account, amount);
+        metrics.record(Operation.DEPOSIT, start);
+    }
+
+    /**
+     * Deposits the amount to an account.
+     *
+     * @param account the account to deposit to.
+     * @param amount  the amount of money to deposit.
+     */
+    private void depositTo(Account account, double amount) {
+        double before = account.getBalance();
+        account.deposit(amount);
+        balanceChanged(account, before);
+    }
+
+    /**
+     * Deposits at the teller: deposits the amount and records the activity.
+     * The account given is the one changed, it is not looked up by number
+     * since account numbers can repeat.
+     *
+     * @param account the account to deposit to.
+     * @param amount  the amount of money to deposit.
+     * @param date    the date of the deposit.
+     */
+    public void deposit(Account account, double amount, Date date) {
+        long start = System.nanoTime();
+        depositTo(account, amount);
+        account.addActivity(new Activity(date, account.getNumber().getBranch(), 'D', amount, false));
+        activityCount.increment();
+        metrics.record(Operation.DEPOSIT, start);
+    }
+
+   /**
+    * This method prints out the array sorted by  branch, county and city.
+    */
+   public String printByBranch() {
+       StringBuilder print = new StringBuilder();
+       long start = System.nanoTime();
+
+       if (this.size() == 0) {
+           print.append("Account database is empty!");
+           metrics.record(Operation.PRINT_BY_BRANCH, start);
+           return print.toString();
+       }
+
+       ReportCache.Key key = new ReportCache.Key('B', -1);
+       long version = this.version.get();
+       String cached = cached(key, version);
+       if (cached != null) {
+           metrics.record(Operation.PRINT_BY_BRANCH, start);
+           return cached;
+       }
+
+       List<Account> copy = ordered('B');
+
+       print.append("\n*List of accounts ordered by branch location (county, city).");
+
+       String currCounty = "";
+
+       for (int i = 0, end; i < copy.size(); i = end) {
+
+           Branch branch = copy.get(i).getNumber().getBranch();
+           String county = branch.getCounty();
+           end = runEnd(copy, i, Sort.BY_BRANCH);
+
+           if (!county.equals(currCounty)) {
+               print.append("\nCounty: ").append(county).append("\n");
+               currCounty = county;
+           }
+
+           print.append(section(new ReportCache.Key('B', branch.ordinal()), branchVersions.get(branch.ordinal()), copy, i, end));
+       }
+
+       print.append("\n").append("*end of list.");
+
+       String printed = print.toString();
+       cache(key, version, printed);
+       metrics.record(Operation.PRINT_BY_BRANCH, start);
+       return printed;
+   }
+
+   /**
+    * This method prints out the array sorted by last name, first name,
+    * date of birth and account number.
+    */
+   public String printByHolder() {
+       StringBuilder print =  new StringBuilder();
+       long start = System.nanoTime();
+
+       if (this.size() == 0) {
+           print.append("Account database is empty!");
+           metrics.record(Operation.PRINT_BY_HOLDER, start);
+           return print.toString();
+       }
+
+       ReportCache.Key key = new ReportCache.Key('H', -1);
+       long version = this.version.get();
+       String cached = cached(key, version);
+       if (cached != null) {
+           metrics.record(Operation.PRINT_BY_HOLDER, start);
+           return cached;
+       }
+
+       List<Account> copy = ordered('H');
+
+       print.append("\n*List of accounts ordered by account holder and number.").append("\n");
+       for (int i = 0; i < this.size(); i++) {
+           copy.get(i).appendTo(print).append("\n");
+       }
+       print.append("\n").append("*end of list.\n");
+
+       String printed = print.toString();
+       cache(key, version, printed);
+       metrics.record(Operation.PRINT_BY_HOLDER, start);
+       return printed;
+   }
+
+   /**
+    * This method prints out the array sorted by account type and
+    * account number.
+    *
+    */
+   public String printByType() {
+        StringBuilder print = new StringBuilder();
+       long start = System.nanoTime();
+
+       if (this.size() == 0) {
+           print.append("Account database is empty!");
+           metrics.record(Operation.PRINT_BY_TYPE, start);
+           return print.toString();
+       }
+
+       ReportCache.Key key = new ReportCache.Key('T', -1);
+       long version = this.version.get();
+       String cached = cached(key, version);
+       if (cached != null) {
+           metrics.record(Operation.PRINT_BY_TYPE, start);
+           return cached;
+       }
+
+       List<Account> copy = ordered('T');
+       print.append("\n*List of accounts ordered by account type and number.");
+       for (int i = 0, end; i < copy.size(); i = end) {
+           AccountType type = copy.get(i).getNumber().getType();
+           end = runEnd(copy, i, BY_TYPE_ONLY);
+
+           print.append("\nAccount Type: ").append(type).append("\n");
+           print.append(section(new ReportCache.Key('T', type.ordinal()), typeVersions.get(type.ordinal()), copy, i, end));
+       }
+       print.append("\n").append("*end of list.\n");
+
+       String printed = print.toString();
+       cache(key, version, printed);
+       metrics.record(Operation.PRINT_BY_TYPE, start);
+       return printed;
+   }
+}
+
+
+
+
+
+
+
+
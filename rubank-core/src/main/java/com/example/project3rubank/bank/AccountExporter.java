@@ -0,0 +1,523 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.util.Date;
+import com.example.project3rubank.util.List;
+import com.example.project3rubank.util.Money;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The AccountExporter class writes every account of a database, the open
+ * ones and the closed ones in its archive, to files other programs can
+ * read, so reports don't have to be scraped for their numbers. Two formats
+ * are written:
+ *     - CSV, one file of accounts and one of activities, with a header line,
+ *       dates as M/D/YYYY and amounts with two decimals,
+ *     - columnar binary, one file per column in a directory, so a reader
+ *       only reads the columns it needs. The values are big-endian: int32
+ *       for numbers and counts, int8 for ordinals, float64 for amounts and
+ *       yyyymmdd int32 for dates, 0 for none. A holder is the first and the
+ *       last name, each a uint16 length and UTF-8 bytes. columns.txt lists
+ *       the row counts and the columns with their types.
+ *
+ *     AccountExporter exporter = new AccountExporter(accountDB);
+ *     exporter.setParallel(true);
+ *     exporter.exportColumns(new File("export"));
+ *
+ * The accounts are written in chunks straight from the database, so the
+ * memory used doesn't grow with the database. Every file is written through
+ * a FileChannel and a direct buffer; in parallel mode the columns, or the
+ * two CSV files, of a chunk are encoded and written at the same time.
+ * Closed accounts come after the open ones, in the order printArchive()
+ * lists them. Like the reports, the export expects the caller to keep
+ * other threads from changing the database, see AccountDatabase.getLock().
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class AccountExporter {
+    private static final int CHUNK_SIZE = 4096; // accounts per chunk
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final AccountDatabase accountDB;
+    private boolean parallel;
+
+    /**
+     * Creates an exporter for a database and its archive.
+     *
+     * @param accountDB the database.
+     */
+    public AccountExporter(AccountDatabase accountDB) {
+        this.accountDB = accountDB;
+    }
+
+    /**
+     * Sets whether the files of a chunk are written at the same time.
+     *
+     * @param parallel true to write the files in parallel.
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Writes the accounts and their activities as CSV. The accounts file has
+     * the columns number,type,branch,first name,last name,date of birth,
+     * balance,closed; closed is empty for an open account. The activities
+     * file has the columns number,date,branch,type,amount,atm.
+     *
+     * @param accountsFile   the accounts CSV file.
+     * @param activitiesFile the activities CSV file.
+     * @return the number of accounts written.
+     * @throws IOException if a file cannot be written.
+     */
+    public long exportCsv(File accountsFile, File activitiesFile) throws IOException {
+        Output[] files = {
+                new Output(accountsFile, (out, chunk) -> {
+                    StringBuilder text = out.text;
+                    for (int i = 0; i < chunk.count; i++) {
+                        Account account = chunk.accounts[i];
+                        Profile holder = account.getHolder();
+                        text.append(account.getNumber()).append(',').append(account.getNumber().getType()).append(',')
+                                .append(account.getNumber().getBranch()).append(',');
+                        appendCsv(text, holder.getFirstName()).append(',');
+                        appendCsv(text, holder.getLastName()).append(',');
+                        holder.getDateOfBirth().appendTo(text).append(',');
+                        Money.appendPlain(text, account.getBalance()).append(',');
+                        if (chunk.closes[i] != null) chunk.closes[i].appendTo(text);
+                        text.append('\n');
+                    }
+                    out.encode();
+                    return chunk.count;
+                }),
+                new Output(activitiesFile, (out, chunk) -> {
+                    StringBuilder text = out.text;
+                    int rows = 0;
+                    for (int i = 0; i < chunk.count; i++) {
+                        List<Activity> activities = chunk.activities[i];
+                        if (activities == null) continue;
+                        for (Activity activity : activities) {
+                            text.append(chunk.accounts[i].getNumber()).append(',');
+                            activity.getDate().appendTo(text).append(',');
+                            if (activity.getLocation() != null) text.append(activity.getLocation());
+                            text.append(',').append(activity.getType()).append(',');
+                            Money.appendPlain(text, activity.getAmount()).append(',').append(activity.isAtm()).append('\n');
+                            rows++;
+                        }
+                    }
+                    out.encode();
+                    return rows;
+                })
+        };
+        try {
+            for (Output file : files) file.open();
+            files[0].text.append("number,type,branch,first_name,last_name,date_of_birth,balance,closed\n");
+            files[1].text.append("number,date,branch,type,amount,atm\n");
+            for (Output file : files) file.encode();
+            export(files);
+        } finally {
+            close(files);
+        }
+        return files[0].rows;
+    }
+
+    /**
+     * Writes the accounts and their activities as one file per column in a
+     * directory, see the class documentation for the format.
+     *
+     * @param directory the directory, created if needed.
+     * @return the number of accounts written.
+     * @throws IOException if a file cannot be written.
+     */
+    public long exportColumns(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create the export directory " + directory);
+        }
+        Output[] columns = {
+                new Output(new File(directory, "account.number"), "int32", (out, chunk) -> {
+                    for (int i = 0; i < chunk.count; i++) {
+                        out.room(Integer.BYTES).putInt(Integer.parseInt(chunk.accounts[i].getNumber().toString()));
+                    }
+                    return chunk.count;
+                }),
+                new Output(new File(directory, "account.type"), "int8", (out, chunk) -> {
+                    for (int i = 0; i < chunk.count; i++) {
+                        out.room(1).put((byte) chunk.accounts[i].getNumber().getType().ordinal());
+                    }
+                    return chunk.count;
+                }),
+                new Output(new File(directory, "account.branch"), "int8", (out, chunk) -> {
+                    for (int i = 0; i < chunk.count; i++) {
+                        out.room(1).put((byte) chunk.accounts[i].getNumber().getBranch().ordinal());
+                    }
+                    return chunk.count;
+                }),
+                new Output(new File(directory, "account.balance"), "float64", (out, chunk) -> {
+                    for (int i = 0; i < chunk.count; i++) {
+                        out.room(Double.BYTES).putDouble(chunk.accounts[i].getBalance());
+                    }
+                    return chunk.count;
+                }),
+                new Output(new File(directory, "account.holder"), "utf8,utf8", (out, chunk) -> {
+                    for (int i = 0; i < chunk.count; i++) {
+                        Profile holder = chunk.accounts[i].getHolder();
+                        putString(out, holder.getFirstName());
+                        putString(out, holder.getLastName());
+                    }
+                    return chunk.count;
+                }),
+                new Output(new File(directory, "account.dob"), "date32", (out, chunk) -> {
+                    for (int i = 0; i < chunk.count; i++) {
+                        out.room(Integer.BYTES).putInt(pack(chunk.accounts[i].getHolder().getDateOfBirth()));
+                    }
+                    return chunk.count;
+                }),
+                new Output(new File(directory, "account.closed"), "date32", (out, chunk) -> {
+                    for (int i = 0; i < chunk.count; i++) {
+                        out.room(Integer.BYTES).putInt(chunk.closes[i] == null ? 0 : pack(chunk.closes[i]));
+                    }
+                    return chunk.count;
+                }),
+                new Output(new File(directory, "account.activities"), "int32", (out, chunk) -> {
+                    for (int i = 0; i < chunk.count; i++) {
+                        List<Activity> activities = chunk.activities[i];
+                        out.room(Integer.BYTES).putInt(activities == null ? 0 : activities.size());
+                    }
+                    return chunk.count;
+                }),
+                activityColumn(directory, "activity.date", "date32", (buffer, activity) -> buffer.putInt(pack(activity.getDate()))),
+                activityColumn(directory, "activity.branch", "int8",
+                        (buffer, activity) -> buffer.put((byte) (activity.getLocation() == null ? -1 : activity.getLocation().ordinal()))),
+                activityColumn(directory, "activity.type", "int8", (buffer, activity) -> buffer.put((byte) activity.getType())),
+                activityColumn(directory, "activity.amount", "float64", (buffer, activity) -> buffer.putDouble(activity.getAmount())),
+                activityColumn(directory, "activity.atm", "int8", (buffer, activity) -> buffer.put((byte) (activity.isAtm() ? 1 : 0)))
+        };
+        try {
+            for (Output column : columns) column.open();
+            export(columns);
+        } finally {
+            close(columns);
+        }
+
+        StringBuilder manifest = new StringBuilder();
+        manifest.append("accounts\t").append(columns[0].rows).append('\n');
+        manifest.append("activities\t").append(columns[columns.length - 1].rows).append('\n');
+        for (Output column : columns) {
+            manifest.append(column.file.getName()).append('\t').append(column.type).append('\n');
+        }
+        try (FileChannel channel = open(new File(directory, "columns.txt"))) {
+            write(channel, StandardCharsets.UTF_8.encode(CharBuffer.wrap(manifest)));
+        }
+        return columns[0].rows;
+    }
+
+    /**
+     * Creates a column of the activities table. The activities of an account
+     * follow each other, account.activities gives their number.
+     *
+     * @param directory the export directory.
+     * @param name      the name of the column file.
+     * @param type      the type of the values.
+     * @param value     writes the value of one activity, at most 8 bytes.
+     * @return the column.
+     */
+    private Output activityColumn(File directory, String name, String type, ActivityValue value) {
+        return new Output(new File(directory, name), type, (out, chunk) -> {
+            int rows = 0;
+            for (int i = 0; i < chunk.count; i++) {
+                List<Activity> activities = chunk.activities[i];
+                if (activities == null) continue;
+                for (Activity activity : activities) {
+                    value.put(out.room(Double.BYTES), activity);
+                    rows++;
+                }
+            }
+            return rows;
+        });
+    }
+
+    /**
+     * Writes every account, open accounts first, one chunk at a time to
+     * every output.
+     *
+     * @param outputs the files.
+     * @throws IOException if a file cannot be written.
+     */
+    private void export(Output[] outputs) throws IOException {
+        Chunk chunk = new Chunk();
+        try {
+            for (int i = 0; i < accountDB.size(); i++) {
+                chunk.accounts[chunk.count] = accountDB.get(i);
+                chunk.closes[chunk.count++] = null;
+                if (chunk.count == CHUNK_SIZE) write(outputs, chunk);
+            }
+            accountDB.getArchive().forEach((account, close) -> {
+                chunk.accounts[chunk.count] = account;
+                chunk.closes[chunk.count++] = close;
+                if (chunk.count == CHUNK_SIZE) write(outputs, chunk);
+            });
+            write(outputs, chunk);
+            for (Output output : outputs) output.drain();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes a chunk to every output, in parallel in parallel mode, and
+     * empties it. The activities of the accounts are read once for the
+     * chunk, not once per output, since spilled activities are read back
+     * from the history.
+     *
+     * @param outputs the files.
+     * @param chunk   the accounts.
+     */
+    private void write(Output[] outputs, Chunk chunk) {
+        if (chunk.count == 0) return;
+        for (int i = 0; i < chunk.count; i++) {
+            chunk.activities[i] = chunk.accounts[i].getActivities();
+        }
+        if (parallel) {
+            Arrays.stream(outputs).parallel().forEach(output -> output.write(chunk));
+        } else {
+            for (Output output : outputs) output.write(chunk);
+        }
+        Arrays.fill(chunk.accounts, 0, chunk.count, null);
+        Arrays.fill(chunk.activities, 0, chunk.count, null);
+        chunk.count = 0;
+    }
+
+    /**
+     * Closes every output, keeping the first failure.
+     *
+     * @param outputs the files.
+     * @throws IOException if a file cannot be closed.
+     */
+    private static void close(Output[] outputs) throws IOException {
+        IOException failure = null;
+        for (Output output : outputs) {
+            try {
+                if (output.channel != null) output.channel.close();
+            } catch (IOException e) {
+                if (failure == null) failure = e;
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * Appends a CSV field, quoting it if it holds a comma, a quote or a line break.
+     *
+     * @param text  the CSV text.
+     * @param value the field.
+     * @return the CSV text.
+     */
+    private static StringBuilder appendCsv(StringBuilder text, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return text.append('"').append(value.replace("\"", "\"\"")).append('"');
+            }
+        }
+        return text.append(value);
+    }
+
+    /**
+     * Writes a string as a uint16 length and its UTF-8 bytes, without
+     * creating a byte array for an ASCII string.
+     *
+     * @param out   the column.
+     * @param value the string.
+     */
+    private static void putString(Output out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.room(Short.BYTES + bytes.length).putShort((short) bytes.length).put(bytes);
+                return;
+            }
+        }
+        ByteBuffer buffer = out.room(Short.BYTES + value.length()).putShort((short) value.length());
+        for (int i = 0; i < value.length(); i++) buffer.put((byte) value.charAt(i));
+    }
+
+    /**
+     * Packs a date into an int as yyyymmdd.
+     *
+     * @param date the date.
+     * @return the packed date.
+     */
+    private static int pack(Date date) {
+        return date.getYear() * 10000 + date.getMonth() * 100 + date.getDay();
+    }
+
+    /**
+     * Opens a file for writing, replacing it.
+     *
+     * @param file the file.
+     * @return the channel.
+     * @throws IOException if the file cannot be opened.
+     */
+    private static FileChannel open(File file) throws IOException {
+        return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Writes all the bytes of a buffer.
+     *
+     * @param channel the file.
+     * @param buffer  the bytes, flipped for reading.
+     * @throws IOException if the file cannot be written.
+     */
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    /**
+     * Up to CHUNK_SIZE accounts on their way to the files.
+     */
+    private static class Chunk {
+        private final Account[] accounts = new Account[CHUNK_SIZE];
+        private final Date[] closes = new Date[CHUNK_SIZE]; // null for an open account
+        @SuppressWarnings("unchecked")
+        private final List<Activity>[] activities = (List<Activity>[]) new List<?>[CHUNK_SIZE]; // the activities of every account
+        private int count;
+    }
+
+    /**
+     * Writes a chunk to an output.
+     */
+    private interface ChunkWriter {
+        /**
+         * Encodes the accounts of a chunk into the output.
+         *
+         * @param out   the output.
+         * @param chunk the accounts.
+         * @return the number of rows written.
+         * @throws IOException if the file cannot be written.
+         */
+        int write(Output out, Chunk chunk) throws IOException;
+    }
+
+    /**
+     * Writes the value of one activity to a column.
+     */
+    private interface ActivityValue {
+        /**
+         * Writes the value.
+         *
+         * @param buffer   the buffer of the column.
+         * @param activity the activity.
+         */
+        void put(ByteBuffer buffer, Activity activity);
+    }
+
+    /**
+     * One file of the export, with its buffer.
+     */
+    private static class Output {
+        private final File file;
+        private final String type; // the type of a column, null for a CSV file
+        private final ChunkWriter writer;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final StringBuilder text = new StringBuilder(); // the CSV text of a chunk
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private FileChannel channel;
+        private long rows;
+
+        /**
+         * Creates a CSV file.
+         *
+         * @param file   the file.
+         * @param writer encodes the chunks.
+         */
+        private Output(File file, ChunkWriter writer) {
+            this(file, null, writer);
+        }
+
+        /**
+         * Creates a column file.
+         *
+         * @param file   the file.
+         * @param type   the type of the values.
+         * @param writer encodes the chunks.
+         */
+        private Output(File file, String type, ChunkWriter writer) {
+            this.file = file;
+            this.type = type;
+            this.writer = writer;
+        }
+
+        /**
+         * Opens the file, replacing it.
+         *
+         * @throws IOException if the file cannot be opened.
+         */
+        private void open() throws IOException {
+            channel = AccountExporter.open(file);
+        }
+
+        /**
+         * Writes a chunk and counts the rows written.
+         *
+         * @param chunk the accounts.
+         */
+        private void write(Chunk chunk) {
+            try {
+                rows += writer.write(this, chunk);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write " + file, e);
+            }
+        }
+
+        /**
+         * Makes room in the buffer, writing it to the file if needed.
+         *
+         * @param bytes the number of bytes about to be put.
+         * @return the buffer.
+         */
+        private ByteBuffer room(int bytes) {
+            if (buffer.remaining() < bytes) {
+                try {
+                    drain();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot write " + file, e);
+                }
+            }
+            return buffer;
+        }
+
+        /**
+         * Encodes the CSV text of a chunk into the buffer, writing the
+         * buffer to the file whenever it is full.
+         *
+         * @throws IOException if the file cannot be written.
+         */
+        private void encode() throws IOException {
+            CharBuffer chars = CharBuffer.wrap(text);
+            while (encoder.encode(chars, buffer, true).isOverflow()) drain();
+            encoder.reset();
+            text.setLength(0);
+        }
+
+        /**
+         * Writes the buffer to the file.
+         *
+         * @throws IOException if the file cannot be written.
+         */
+        private void drain() throws IOException {
+            buffer.flip();
+            AccountExporter.write(channel, buffer);
+            buffer.clear();
+        }
+    }
+}
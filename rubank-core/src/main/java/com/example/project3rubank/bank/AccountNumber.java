@@ -14,11 +14,12 @@ import java.util.Random;
  */
 public class AccountNumber implements Comparable<AccountNumber>{
 
-    private static final int SEED = 9999;
+    static final int SEED = 9999;
     private static final Random rand = new Random(SEED);
     private Branch branch;
     private AccountType type;
     private String number;
+    private String text; // the 9-digit number, built on first use
 
     /**
      * Constructor for the AccountNumber class, it initializes a new account
@@ -33,6 +34,20 @@ public class AccountNumber implements Comparable<AccountNumber>{
         this.number = generateRandomNumber();
     }
 
+    /**
+     * Creates an account number with a known 4-digit number, used to restore
+     * the accounts of the cold archive. The random sequence is not used.
+     *
+     * @param branch the branch where the account is registered.
+     * @param type   the type of account.
+     * @param number the 4-digit number.
+     */
+    AccountNumber(Branch branch, AccountType type, String number) {
+        this.branch = branch;
+        this.type = type;
+        this.number = number;
+    }
+
     /**
      * Random number method: This method generates a fixed sequence random
      * 4-digit number using the SEED constant.
@@ -40,6 +55,18 @@ public class AccountNumber implements Comparable<AccountNumber>{
      * @return This is a string representing a 4-digit number.
      */
     private String generateRandomNumber() {
+        return generateRandomNumber(rand);
+    }
+
+    /**
+     * Generates the next 4-digit number from the given random source. The
+     * DataGenerator uses this with its own Random(SEED) to predict the account
+     * numbers a fresh load of its accounts file will assign.
+     *
+     * @param rand the random source.
+     * @return This is a string representing a 4-digit number.
+     */
+    static String generateRandomNumber(Random rand) {
 		int randomNum = rand.nextInt(9999);
         return String.format("%04d", randomNum);
     }
@@ -97,6 +124,17 @@ public class AccountNumber implements Comparable<AccountNumber>{
                 this.number.equals(account.number);
     }
 
+    /**
+     * hashCode() method: Returns a hash code consistent with equals(), based
+     * on the 9-digit account number.
+     *
+     * @return the hash code.
+     */
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+
     /**
      * toString() method: This returns the full 9-digit account number
      * as a string. Branch(3 digits) + Type(2 digits) + Number(4 digits).
@@ -105,7 +143,9 @@ public class AccountNumber implements Comparable<AccountNumber>{
      */
     @Override
     public String toString() {
-
-        return String.format("%s%s%s", branch.getBranchCode(), type.getCode(), number);
+        if (text == null) {
+            text = branch.getBranchCode() + type.getCode() + number;
+        }
+        return text;
     }
 }
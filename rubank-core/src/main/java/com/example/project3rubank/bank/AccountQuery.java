@@ -0,0 +1,235 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.util.Date;
+
+import java.util.Comparator;
+
+/**
+ * The AccountQuery class describes which accounts AccountDatabase.query()
+ * returns: a filter made of the conditions that are set, an optional order
+ * and an optional limit. A new query matches every account; each setter adds
+ * a condition and all the conditions must hold.
+ *
+ *     AccountQuery query = new AccountQuery();
+ *     query.setCounty("Middlesex");
+ *     query.setType(AccountType.SAVINGS);
+ *     query.setMinBalance(10000);
+ *     query.setOrder(Sort.BY_HOLDER);
+ *     query.setLimit(20);
+ *     accountDB.query(query).forEach(...);
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class AccountQuery {
+    private static final int NO_LIMIT = -1;
+
+    private AccountType type;
+    private Branch branch;
+    private String county;
+    private Campus campus;
+    private Boolean loyal;
+    private double minBalance = Double.NEGATIVE_INFINITY;
+    private double maxBalance = Double.POSITIVE_INFINITY;
+    private Date maturesFrom;
+    private Date maturesTo;
+    private Profile holder;
+    private String numberPrefix;
+    private Comparator<Account> order;
+    private int limit = NO_LIMIT;
+
+    /**
+     * Creates a query that matches every account, in no particular order.
+     */
+    public AccountQuery() {
+
+    }
+
+    /**
+     * Only matches accounts of the given type.
+     *
+     * @param type the account type.
+     */
+    public void setType(AccountType type) {
+        this.type = type;
+    }
+
+    /**
+     * Only matches accounts of the given branch.
+     *
+     * @param branch the branch.
+     */
+    public void setBranch(Branch branch) {
+        this.branch = branch;
+    }
+
+    /**
+     * Only matches accounts of the branches in the given county.
+     *
+     * @param county the county name, as in Branch.getCounty().
+     */
+    public void setCounty(String county) {
+        this.county = county;
+    }
+
+    /**
+     * Only matches college checking accounts of the given campus.
+     *
+     * @param campus the campus.
+     */
+    public void setCampus(Campus campus) {
+        this.campus = campus;
+    }
+
+    /**
+     * Only matches loyal accounts, or only accounts that aren't loyal.
+     * Checking accounts are never loyal.
+     *
+     * @param loyal true for loyal accounts, false for the others.
+     */
+    public void setLoyal(boolean loyal) {
+        this.loyal = loyal;
+    }
+
+    /**
+     * Only matches accounts with at least the given balance.
+     *
+     * @param minBalance the lowest balance, inclusive.
+     */
+    public void setMinBalance(double minBalance) {
+        this.minBalance = minBalance;
+    }
+
+    /**
+     * Only matches accounts with at most the given balance.
+     *
+     * @param maxBalance the highest balance, inclusive.
+     */
+    public void setMaxBalance(double maxBalance) {
+        this.maxBalance = maxBalance;
+    }
+
+    /**
+     * Only matches certificate deposit accounts maturing in the given
+     * window, both dates inclusive. Either date may be null for an open end.
+     *
+     * @param from the first maturity date.
+     * @param to   the last maturity date.
+     */
+    public void setMaturityWindow(Date from, Date to) {
+        this.maturesFrom = from;
+        this.maturesTo = to;
+    }
+
+    /**
+     * Only matches accounts of the given holder, names compared ignoring case.
+     *
+     * @param holder the holder.
+     */
+    public void setHolder(Profile holder) {
+        this.holder = holder;
+    }
+
+    /**
+     * Only matches accounts whose number starts with the given digits, like
+     * "20003" for the money market accounts of Bridgewater.
+     *
+     * @param numberPrefix up to 9 digits of the account number.
+     */
+    public void setNumberPrefix(String numberPrefix) {
+        this.numberPrefix = numberPrefix;
+    }
+
+    /**
+     * Returns the accounts in the given order, for example one of the Sort
+     * comparators. Without an order the accounts come in no particular order.
+     *
+     * @param order the order, null for no particular order.
+     */
+    public void setOrder(Comparator<Account> order) {
+        this.order = order;
+    }
+
+    /**
+     * Returns at most the given number of accounts, the first ones in order.
+     *
+     * @param limit the maximum number of accounts.
+     */
+    public void setLimit(int limit) {
+        if (limit < 0) throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        this.limit = limit;
+    }
+
+    /**
+     * Gets the account type condition.
+     *
+     * @return the account type, null if any type matches.
+     */
+    AccountType getType() { return type; }
+
+    /**
+     * Gets the branch condition.
+     *
+     * @return the branch, null if any branch matches.
+     */
+    Branch getBranch() { return branch; }
+
+    /**
+     * Gets the county condition.
+     *
+     * @return the county, null if any county matches.
+     */
+    String getCounty() { return county; }
+
+    /**
+     * Gets the holder condition.
+     *
+     * @return the holder, null if any holder matches.
+     */
+    Profile getHolder() { return holder; }
+
+    /**
+     * Gets the number prefix condition.
+     *
+     * @return the digits, null if any number matches.
+     */
+    String getNumberPrefix() { return numberPrefix; }
+
+    /**
+     * Gets the order of the results.
+     *
+     * @return the order, null for no particular order.
+     */
+    Comparator<Account> getOrder() { return order; }
+
+    /**
+     * Gets the maximum number of results.
+     *
+     * @return the limit, negative if there is none.
+     */
+    int getLimit() { return limit; }
+
+    /**
+     * Checks if an account meets every condition of the query.
+     *
+     * @param account the account.
+     * @return true if the account matches, false otherwise.
+     */
+    public boolean matches(Account account) {
+        AccountNumber number = account.getNumber();
+        if (type != null && number.getType() != type) return false;
+        if (branch != null && number.getBranch() != branch) return false;
+        if (county != null && !number.getBranch().getCounty().equals(county)) return false;
+        if (account.getBalance() < minBalance || account.getBalance() > maxBalance) return false;
+        if (holder != null && !account.getHolder().equals(holder)) return false;
+        if (numberPrefix != null && !number.toString().startsWith(numberPrefix)) return false;
+        if (campus != null && !(account instanceof CollegeChecking college && college.getCampus() == campus)) return false;
+        if (loyal != null && loyal != (account instanceof Savings savings && savings.isLoyal())) return false;
+        if (maturesFrom != null || maturesTo != null) {
+            if (!(account instanceof CertificateDeposit cd)) return false;
+            Date maturity = cd.getMaturityDate();
+            if (maturesFrom != null && maturity.compareTo(maturesFrom) < 0) return false;
+            if (maturesTo != null && maturity.compareTo(maturesTo) > 0) return false;
+        }
+        return true;
+    }
+}
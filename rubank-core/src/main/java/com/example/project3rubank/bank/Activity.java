@@ -1,8 +1,7 @@
 package com.example.project3rubank.bank;
 
 import com.example.project3rubank.util.Date;
-
-import java.text.DecimalFormat;
+import com.example.project3rubank.util.Money;
 
 /**
  * The Activity class shows the transaction activity associated with each bank
@@ -59,6 +58,42 @@ public class Activity implements Comparable<Activity>{
 		return date;
 	}
 
+	/**
+	 *  Gets the location of the transaction.
+	 *
+	 * @return	Returns the branch the transaction was made at.
+	 */
+	public Branch getLocation() {
+		return location;
+	}
+
+	/**
+	 *  Gets the type of the transaction.
+	 *
+	 * @return	Returns 'D' for a deposit or 'W' for a withdrawal.
+	 */
+	public char getType() {
+		return type;
+	}
+
+	/**
+	 *  Gets the amount of the transaction.
+	 *
+	 * @return	Returns the amount.
+	 */
+	public double getAmount() {
+		return amount;
+	}
+
+	/**
+	 *  Checks if the transaction was made at an ATM.
+	 *
+	 * @return	Returns true for an ATM transaction, false for a teller.
+	 */
+	public boolean isAtm() {
+		return atm;
+	}
+
 	/**
 	 *  This method returns a string representation of the activity in the required format.
 	 *
@@ -66,19 +101,20 @@ public class Activity implements Comparable<Activity>{
 	 */
 	@Override
 	public String toString() {
+		return appendTo(new StringBuilder()).toString();
+	}
 
-		String transactionType;
-		if (type == 'D') {
-			transactionType = "deposit";
-		} else {
-			transactionType = "withdrawal";
-		}
-
-		String atmTransaction = "";
-		if (atm) { atmTransaction = "[ATM]"; }
-
-		DecimalFormat amountFormatter = new DecimalFormat("$#,##0.00");
-
-		return String.format("%s::%s%s::%s::%s", date, location, atmTransaction, transactionType, amountFormatter.format(amount));
+	/**
+	 *  Appends the same text as toString() to a buffer, without creating a
+	 *  formatter or any intermediate String.
+	 *
+	 * @param out	The buffer.
+	 * @return		Returns the buffer.
+	 */
+	public StringBuilder appendTo(StringBuilder out) {
+		date.appendTo(out).append("::").append(location);
+		if (atm) { out.append("[ATM]"); }
+		out.append(type == 'D' ? "::deposit::" : "::withdrawal::");
+		return Money.appendDollars(out, amount);
 	}
 }
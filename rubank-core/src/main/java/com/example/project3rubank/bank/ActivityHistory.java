@@ -0,0 +1,340 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.util.Date;
+import com.example.project3rubank.util.List;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The ActivityHistory class keeps the activity histories of accounts off the
+ * heap. An account attached to a history keeps only its most recent
+ * activities in memory; when it has more than the recent limit, the oldest
+ * half is appended to a log file of its own in the history's directory.
+ * Reading an account's activities, for a statement or the archive, reads the
+ * log back through a cache that holds the logs of the most recently read
+ * accounts and drops the least recently read one when it is full. The heap
+ * used by activities is then bounded by the accounts being worked on, not
+ * by how long the histories are.
+ *
+ *     ActivityHistory history = new ActivityHistory(new File("history"), 64, 1024);
+ *     accountDB.setHistory(history);
+ *     accountDB.loadAccounts(file);
+ *
+ * Each log is a sequence of fixed size records in date order, see write().
+ * An activity older than the latest spilled one is inserted into the log,
+ * which is then rewritten. The logs only hold what is spilled while the
+ * history is open, close() deletes them.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class ActivityHistory implements Closeable {
+    public static final int DEFAULT_RECENT = 64;
+    public static final int DEFAULT_CACHED = 1024;
+
+    private final File directory;
+    private final int recent;
+    private final LinkedHashMap<Log, ActivityTimeline> cache;
+    private List<Log> logs = new List<>();
+    private int nextId;
+
+    /**
+     * Creates a history with the default limits.
+     *
+     * @param directory the directory the logs are written to, created if needed.
+     * @throws IOException if the directory cannot be created.
+     */
+    public ActivityHistory(File directory) throws IOException {
+        this(directory, DEFAULT_RECENT, DEFAULT_CACHED);
+    }
+
+    /**
+     * Creates a history.
+     *
+     * @param directory the directory the logs are written to, created if needed.
+     * @param recent    the number of activities an account keeps in memory.
+     * @param cached    the number of accounts whose logs are cached.
+     * @throws IOException if the directory cannot be created.
+     */
+    public ActivityHistory(File directory, int recent, int cached) throws IOException {
+        if (recent < 2) throw new IllegalArgumentException("Recent limit must be at least 2: " + recent);
+        if (cached < 1) throw new IllegalArgumentException("Cache size must be at least 1: " + cached);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create the history directory " + directory);
+        }
+        this.directory = directory;
+        this.recent = recent;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Log, ActivityTimeline> eldest) {
+                return size() > cached;
+            }
+        };
+    }
+
+    /**
+     * Gets the number of activities an account keeps in memory.
+     *
+     * @return the recent limit.
+     */
+    public int getRecent() {
+        return recent;
+    }
+
+    /**
+     * Gets the number of accounts whose logs are in the cache.
+     *
+     * @return the number of cached logs.
+     */
+    public int getCached() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Creates the log of an account. Nothing is written until the account
+     * has more than the recent limit of activities.
+     *
+     * @return the log.
+     */
+    synchronized Log newLog() {
+        Log log = new Log(new File(directory, (nextId++) + ".log"));
+        logs.add(log);
+        return log;
+    }
+
+    /**
+     * Deletes every log and empties the cache. The older activities of the
+     * accounts attached to this history are lost.
+     */
+    @Override
+    public synchronized void close() {
+        synchronized (cache) {
+            cache.clear();
+        }
+        for (Log log : logs) {
+            log.file.delete();
+        }
+        logs = new List<>();
+    }
+
+    /**
+     * Writes one activity as a record: the date as yyyymmdd, the ordinal of
+     * the branch (-1 for none), the type, the amount and the ATM flag.
+     *
+     * @param out      the log.
+     * @param activity the activity.
+     * @throws IOException if the log cannot be written.
+     */
+    private static void write(DataOutputStream out, Activity activity) throws IOException {
+        Date date = activity.getDate();
+        out.writeInt(date.getYear() * 10000 + date.getMonth() * 100 + date.getDay());
+        out.writeByte(activity.getLocation() == null ? -1 : activity.getLocation().ordinal());
+        out.writeChar(activity.getType());
+        out.writeDouble(activity.getAmount());
+        out.writeBoolean(activity.isAtm());
+    }
+
+    /**
+     * Reads one activity record, see write().
+     *
+     * @param in the log.
+     * @return the activity.
+     * @throws IOException if the log cannot be read.
+     */
+    private static Activity read(DataInputStream in) throws IOException {
+        int date = in.readInt();
+        int branch = in.readByte();
+        char type = in.readChar();
+        double amount = in.readDouble();
+        boolean atm = in.readBoolean();
+        return new Activity(new Date(date / 10000 + "-" + date / 100 % 100 + "-" + date % 100),
+                branch < 0 ? null : Branch.values()[branch], type, amount, atm);
+    }
+
+    /**
+     * The activities one account spilled to disk. They are the oldest
+     * activities of the account, in date order.
+     */
+    class Log {
+        private final File file;
+        private int spilled;
+        private Date last; // the date of the latest spilled activity
+
+        /**
+         * Creates the log of an account.
+         *
+         * @param file the log file.
+         */
+        private Log(File file) {
+            this.file = file;
+        }
+
+        /**
+         * Gets the number of activities the account keeps in memory.
+         *
+         * @return the recent limit.
+         */
+        int getRecent() {
+            return recent;
+        }
+
+        /**
+         * Gets the number of activities in the log.
+         *
+         * @return the number of spilled activities.
+         */
+        synchronized int getSpilled() {
+            return spilled;
+        }
+
+        /**
+         * Checks if an activity of the given day belongs in the log rather
+         * than in memory, because a later activity was already spilled.
+         *
+         * @param date the day of the activity.
+         * @return true if the log has an activity after the day.
+         */
+        synchronized boolean isAfter(Date date) {
+            return last != null && last.compareTo(date) > 0;
+        }
+
+        /**
+         * Appends the oldest half of the account's activities to the log.
+         *
+         * @param activities the activities in memory, oldest first.
+         * @return the activities that stay in memory.
+         */
+        synchronized ActivityTimeline spill(ActivityTimeline activities) {
+            int count = activities.size() / 2;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+                for (int i = 0; i < count; i++) write(out, activities.get(i));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write the activity log " + file, e);
+            }
+            spilled += count;
+            last = activities.get(count - 1).getDate();
+            synchronized (cache) {
+                ActivityTimeline cached = cache.get(this);
+                if (cached != null) {
+                    for (int i = 0; i < count; i++) cached.add(activities.get(i));
+                }
+            }
+            ActivityTimeline kept = new ActivityTimeline();
+            for (int i = count; i < activities.size(); i++) kept.add(activities.get(i));
+            return kept;
+        }
+
+        /**
+         * Inserts an activity that is older than the latest spilled one,
+         * rewriting the log. Activities rarely arrive out of date order, so
+         * this is the slow path.
+         *
+         * @param activity the activity.
+         */
+        synchronized void insert(Activity activity) {
+            ActivityTimeline older = older();
+            older.add(activity);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+                for (Activity spilledActivity : older) write(out, spilledActivity);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write the activity log " + file, e);
+            }
+            spilled++;
+        }
+
+        /**
+         * Gets the whole history of the account, reading the log through the
+         * cache.
+         *
+         * @param activities the activities in memory, oldest first.
+         * @return every activity, oldest first.
+         */
+        synchronized ActivityTimeline history(ActivityTimeline activities) {
+            ActivityTimeline all = new ActivityTimeline();
+            for (Activity activity : older()) all.add(activity);
+            for (Activity activity : activities) all.add(activity);
+            return all;
+        }
+
+        /**
+         * Gets the activities of a period, reading the log only if the
+         * period starts before the latest spilled activity.
+         *
+         * @param activities the activities in memory, oldest first.
+         * @param from       the first day, null for the first activity.
+         * @param to         the last day, null for the last activity.
+         * @return the activities, oldest first.
+         */
+        synchronized ActivityTimeline between(ActivityTimeline activities, Date from, Date to) {
+            ActivityTimeline recentPeriod = activities.between(from, to);
+            if (last == null || (from != null && from.compareTo(last) > 0)) return recentPeriod;
+            ActivityTimeline period = older().between(from, to);
+            for (Activity activity : recentPeriod) period.add(activity);
+            return period;
+        }
+
+        /**
+         * Gets the latest activities, reading the log only if the account
+         * keeps fewer in memory.
+         *
+         * @param activities the activities in memory, oldest first.
+         * @param count      the number of activities.
+         * @return the last count activities, oldest first.
+         */
+        synchronized ActivityTimeline last(ActivityTimeline activities, int count) {
+            if (count <= activities.size() || spilled == 0) return activities.last(count);
+            ActivityTimeline latest = older().last(count - activities.size());
+            for (Activity activity : activities) latest.add(activity);
+            return latest;
+        }
+
+        /**
+         * Gets the spilled activities through the cache, the caller holds the log.
+         *
+         * @return the spilled activities, oldest first.
+         */
+        private ActivityTimeline older() {
+            ActivityTimeline older;
+            synchronized (cache) {
+                older = cache.get(this);
+            }
+            if (older == null) {
+                older = load();
+                synchronized (cache) {
+                    cache.put(this, older);
+                }
+            }
+            return older;
+        }
+
+        /**
+         * Reads every activity in the log.
+         *
+         * @return the activities, oldest first.
+         */
+        private ActivityTimeline load() {
+            ActivityTimeline activities = new ActivityTimeline();
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                for (int i = 0; i < spilled; i++) activities.add(read(in));
+            } catch (EOFException e) {
+                throw new UncheckedIOException("The activity log " + file + " is shorter than expected", e);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read the activity log " + file, e);
+            }
+            return activities;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.bank.AccountDatabase.ActivityLine;
+import com.example.project3rubank.bank.BankMetrics.Operation;
+import com.example.project3rubank.util.List;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * The ActivityTailer class applies activities files that are still being
+ * written, like the file an ATM switch appends to all day. It watches a
+ * directory with a WatchService and, whenever a file in it is created or
+ * grows, applies the complete lines added since the last time; a line
+ * without its newline yet is left for the next time.
+ *
+ * How far every file was applied is kept as a byte offset and a line count,
+ * saved to the offsets file after every batch, so a tailer started again
+ * with the same offsets file goes on exactly after the last line applied.
+ * With a guard file, the ReplayGuard of the database is saved after every
+ * batch too, before the offsets, so a batch applied just before a crash is
+ * skipped when it is read again.
+ * The line count is the line number processActivities() would give the same
+ * record, so a ReplayGuard recognizes a record whether it was tailed or read
+ * from the finished file. A file that becomes shorter than its offset was
+ * replaced and is read again from the start.
+ *
+ *     ActivityTailer tailer = new ActivityTailer(accountDB, new File("atm"), new File("atm.offsets"));
+ *     new Thread(tailer).start();
+ *     ...
+ *     tailer.close();
+ *
+ * The tailer takes the write lock of the database for every batch. Lines
+ * that cannot be parsed are skipped and counted, see getRejected().
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class ActivityTailer implements Runnable, Closeable {
+    private static final long RESCAN_MILLIS = 1000; // also look at the files this often, in case an event was lost
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BankMetrics metrics = BankMetrics.getDefault();
+    private final AccountDatabase accountDB;
+    private final Path directory;
+    private final File offsetsFile;
+    private File guardFile; // null not to save the replay guard
+    private final Map<String, Position> positions = new TreeMap<>();
+    private final WatchService watcher;
+    private volatile boolean closed;
+    private long applied;
+    private long rejected;
+
+    /**
+     * Creates a tailer for the activities files in a directory, loading the
+     * offsets saved by an earlier tailer. Call run(), usually on a thread of
+     * its own, to start applying.
+     *
+     * @param accountDB   the database the activities are applied to.
+     * @param directory   the directory of the activities files.
+     * @param offsetsFile the file the offsets are saved to.
+     * @throws IOException if the directory cannot be watched or the offsets cannot be read.
+     */
+    public ActivityTailer(AccountDatabase accountDB, File directory, File offsetsFile) throws IOException {
+        this.accountDB = accountDB;
+        this.directory = directory.toPath();
+        this.offsetsFile = offsetsFile;
+        loadOffsets();
+        this.watcher = this.directory.getFileSystem().newWatchService();
+        this.directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    /**
+     * Saves the replay guard of the database to a file after every batch,
+     * before the offsets.
+     *
+     * @param guardFile the file the guard is saved to, null not to save it.
+     */
+    public synchronized void setGuardFile(File guardFile) {
+        this.guardFile = guardFile;
+    }
+
+    /**
+     * Applies what the files already hold, then every line added to them
+     * until the tailer is closed.
+     */
+    @Override
+    public void run() {
+        try {
+            scan();
+            while (!closed) {
+                WatchKey key = watcher.poll(RESCAN_MILLIS, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+                scan();
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // closed, stop tailing
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot tail " + directory, e);
+        }
+    }
+
+    /**
+     * Applies the new lines of every file in the directory.
+     *
+     * @return the number of activities applied.
+     * @throws IOException if a file cannot be read or the offsets cannot be saved.
+     */
+    public synchronized int scan() throws IOException {
+        File[] files = directory.toFile().listFiles(File::isFile);
+        if (files == null) throw new IOException("Cannot list " + directory);
+        int count = 0;
+        for (File file : files) {
+            count += tail(file, positions.computeIfAbsent(file.getName(), name -> new Position()));
+        }
+        return count;
+    }
+
+    /**
+     * Applies the complete lines added to a file since its offset, saving
+     * the offsets after every batch.
+     *
+     * @param file     the file.
+     * @param position how far the file was applied, moved past the lines applied.
+     * @return the number of activities applied.
+     * @throws IOException if the file cannot be read or the offsets cannot be saved.
+     */
+    private int tail(File file, Position position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < position.offset) {
+                position.offset = 0; // the file was replaced by a shorter one
+                position.lines = 0;
+            }
+            if (channel.size() == position.offset) return 0;
+
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] line = new byte[256];
+            int length = 0;
+            long offset = position.offset;
+            long lineStart = offset;
+            int count = 0;
+            channel.position(offset);
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                List<ActivityLine> batch = new List<>();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    offset++;
+                    if (b != '\n') {
+                        if (length == line.length) line = Arrays.copyOf(line, length * 2);
+                        line[length++] = b;
+                        continue;
+                    }
+                    if (length > 0 && line[length - 1] == '\r') length--;
+                    position.lines++;
+                    if (length > 0) {
+                        try {
+                            batch.add(AccountDatabase.parseActivity(new String(line, 0, length, StandardCharsets.UTF_8), position.lines));
+                        } catch (IOException e) {
+                            rejected++;
+                        }
+                    }
+                    length = 0;
+                    lineStart = offset;
+                }
+                count += apply(batch);
+                if (position.offset != lineStart) {
+                    position.offset = lineStart;
+                    checkpoint();
+                }
+                buffer.clear();
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Applies a batch of parsed lines under the write lock of the database.
+     *
+     * @param batch the lines.
+     * @return the number of lines applied to an account.
+     */
+    private int apply(List<ActivityLine> batch) {
+        if (batch.isEmpty()) return 0;
+        long start = System.nanoTime();
+        int count = 0;
+        Lock lock = accountDB.getLock().writeLock();
+        lock.lock();
+        try {
+            for (ActivityLine line : batch) {
+                Account account = accountDB.findAccount(line.number());
+                if (account != null) {
+                    accountDB.applyActivity(account, line);
+                    count++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        applied += count;
+        metrics.record(Operation.PROCESS_ACTIVITIES, start);
+        return count;
+    }
+
+    /**
+     * Gets the number of activities applied to an account since the tailer
+     * was created.
+     *
+     * @return the number of activities.
+     */
+    public synchronized long getApplied() {
+        return applied;
+    }
+
+    /**
+     * Gets the number of lines skipped because they could not be parsed.
+     *
+     * @return the number of lines.
+     */
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Stops tailing; run() returns once the batch in progress is applied.
+     *
+     * @throws IOException if the watch service cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        watcher.close();
+    }
+
+    /**
+     * Saves the replay guard, if there is a guard file, then the offsets.
+     *
+     * @throws IOException if a file cannot be written.
+     */
+    private void checkpoint() throws IOException {
+        ReplayGuard guard = accountDB.getReplayGuard();
+        if (guardFile != null && guard != null) guard.save(guardFile);
+        saveOffsets();
+    }
+
+    /**
+     * Loads the offsets, one file per line: name, byte offset and line count
+     * separated by tabs.
+     *
+     * @throws IOException if the offsets file cannot be read.
+     */
+    private void loadOffsets() throws IOException {
+        if (!offsetsFile.exists()) return;
+        try (BufferedReader in = new BufferedReader(new FileReader(offsetsFile, StandardCharsets.UTF_8))) {
+            String text;
+            while ((text = in.readLine()) != null) {
+                String[] parts = text.split("\t");
+                if (parts.length != 3) throw new IOException("Bad line in " + offsetsFile + ": " + text);
+                Position position = new Position();
+                position.offset = Long.parseLong(parts[1]);
+                position.lines = Long.parseLong(parts[2]);
+                positions.put(parts[0], position);
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Bad offset in " + offsetsFile, e);
+        }
+    }
+
+    /**
+     * Saves the offsets, writing them next to the old file and moving them
+     * over it, so a crash leaves either the old or the new offsets.
+     *
+     * @throws IOException if the offsets file cannot be written.
+     */
+    private void saveOffsets() throws IOException {
+        File temp = new File(offsetsFile.getPath() + ".tmp");
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(temp, StandardCharsets.UTF_8))) {
+            for (Map.Entry<String, Position> entry : positions.entrySet()) {
+                out.write(entry.getKey() + "\t" + entry.getValue().offset + "\t" + entry.getValue().lines + "\n");
+            }
+        }
+        Files.move(temp.toPath(), offsetsFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * How far a file was applied.
+     */
+    private static class Position {
+        private long offset; // the byte after the last complete line applied
+        private long lines;  // the number of lines before offset
+    }
+}
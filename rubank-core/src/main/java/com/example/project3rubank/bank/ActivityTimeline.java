@@ -0,0 +1,115 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.util.Date;
+import com.example.project3rubank.util.List;
+
+/**
+ * The ActivityTimeline class is the list of an account's activities kept in
+ * date order. An activity is inserted after every activity of the same day
+ * or earlier, so activities of one day stay in the order they were added.
+ * Activities usually arrive in date order and are then simply appended.
+ *
+ * Because the list is sorted, the activities of a period and the latest
+ * activities are found by binary search, in O(log n + k) for k activities
+ * instead of a scan of the whole history.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class ActivityTimeline extends List<Activity> {
+
+    /**
+     * Creates an empty timeline.
+     */
+    public ActivityTimeline() {
+        super();
+    }
+
+    /**
+     * Adds an activity after every activity of the same day or earlier.
+     *
+     * @param activity the activity.
+     */
+    @Override
+    public void add(Activity activity) {
+        int index = after(activity.getDate());
+        super.add(activity);
+        for (int i = size() - 1; i > index; i--) {
+            set(i, get(i - 1));
+        }
+        set(index, activity);
+    }
+
+    /**
+     * Gets the activities of a period, both days included.
+     *
+     * @param from the first day, null for the start of the timeline.
+     * @param to   the last day, null for the end of the timeline.
+     * @return the activities, oldest first.
+     */
+    public ActivityTimeline between(Date from, Date to) {
+        ActivityTimeline period = new ActivityTimeline();
+        int end = to == null ? size() : after(to);
+        for (int i = from == null ? 0 : before(from); i < end; i++) {
+            period.add(get(i));
+        }
+        return period;
+    }
+
+    /**
+     * Gets the latest activities.
+     *
+     * @param count the number of activities.
+     * @return the last count activities, all of them if there are fewer, oldest first.
+     */
+    public ActivityTimeline last(int count) {
+        if (count < 0) throw new IllegalArgumentException("Count cannot be negative: " + count);
+        ActivityTimeline latest = new ActivityTimeline();
+        for (int i = Math.max(0, size() - count); i < size(); i++) {
+            latest.add(get(i));
+        }
+        return latest;
+    }
+
+    /**
+     * Gets the date of the latest activity.
+     *
+     * @return the date, null if the timeline is empty.
+     */
+    public Date getLastDate() {
+        return isEmpty() ? null : get(size() - 1).getDate();
+    }
+
+    /**
+     * Finds the first activity on or after a day.
+     *
+     * @param date the day.
+     * @return the position of the activity, size() if every activity is earlier.
+     */
+    private int before(Date date) {
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (get(mid).getDate().compareTo(date) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Finds the first activity after a day.
+     *
+     * @param date the day.
+     * @return the position of the activity, size() if no activity is later.
+     */
+    private int after(Date date) {
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (get(mid).getDate().compareTo(date) <= 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
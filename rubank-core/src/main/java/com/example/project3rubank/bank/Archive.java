@@ -0,0 +1,251 @@
+package com.example.project3rubank.bank;
+import com.example.project3rubank.util.Date;
+import com.example.project3rubank.util.List;
+
+import java.util.HashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * This class implements a linked list that holds a list of closed accounts, includes adding and printing
+ * The methods are synchronized, so databases closing accounts on different threads can share an archive.
+ *
+ * Only the most recently closed accounts stay in the list as objects. When
+ * there are more than the hot limit, the oldest ones are frozen into a
+ * compressed ArchiveBlock, the cold tier, and an index keeps the block of
+ * every frozen account number. print() restores the blocks one at a time and
+ * printAccount() only the account it prints, so the closed accounts of years
+ * of churn take a few dozen bytes each.
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class Archive {
+    public static final int DEFAULT_HOT = 1024;
+    public static final int DEFAULT_BLOCK = 256;
+
+    private final int hotLimit;  // the most accounts kept as objects
+    private final int blockSize; // the accounts frozen together
+    private final List<ArchiveBlock> blocks = new List<>(); // the cold tier, oldest block first
+    private final HashMap<String, Long> index = new HashMap<>(); // number to block << 32 | record
+    private AccountNode first; // head node of the linked list
+    private int size; // number of closed accounts
+    private int hot; // number of closed accounts in the linked list
+    private long version; // bumped by every account added
+
+    /**
+     *  Default constructor for Archive class
+     */
+    public Archive() {
+        this(DEFAULT_HOT, DEFAULT_BLOCK);
+    }
+
+    /**
+     * Creates an archive with the given cold tier limits.
+     *
+     * @param hotLimit  the number of closed accounts kept as objects.
+     * @param blockSize the number of accounts compressed together, at most hotLimit.
+     */
+    public Archive(int hotLimit, int blockSize) {
+        if (blockSize < 1 || blockSize > hotLimit) {
+            throw new IllegalArgumentException("Block size must be between 1 and the hot limit: " + blockSize);
+        }
+        this.hotLimit = hotLimit;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * This nested class represents a node in the linked list
+     * Each node stores an account and a reference (next) to the next node
+     */
+    private static class AccountNode {
+        private Account account;
+        private AccountNode next;
+        private Date close;
+
+        /**
+         * Constructor that creates accountNode object
+         * @param account to store the node inside of account
+         */
+        public AccountNode(Account account, Date close) {
+            this.account = account;
+            this.next = null;
+            this.close = close;
+        }
+
+        /**
+         * Returns a formatted string containing the account activities and
+         * closing information.
+         *
+         * @return  String representation of the account activities.
+         */
+        public String toString() {
+            return appendTo(new StringBuilder()).toString();
+        }
+
+        /**
+         * Appends the same text as toString() to a buffer.
+         *
+         * @param out the buffer.
+         * @return the buffer.
+         */
+        private StringBuilder appendTo(StringBuilder out) {
+            return appendEntry(out, account, close);
+        }
+    }
+
+    /**
+     * Appends a closed account, its closing date and its activities.
+     *
+     * @param out     the buffer.
+     * @param account the account.
+     * @param close   the closing date.
+     * @return the buffer.
+     */
+    private static StringBuilder appendEntry(StringBuilder out, Account account, Date close) {
+        close.appendTo(account.appendTo(out).append(" Closed[")).append(']');
+        List<Activity> activities = account.getActivities();
+        if (activities != null && !activities.isEmpty()) {
+            out.append("\n\t[Activity]");
+            for (Activity activity : activities) {
+                activity.appendTo(out.append("\n\t\t"));
+            }
+        }
+        return out;
+    }
+
+    /**
+     *  Adds account to the front of the linked list
+     * @param account The account that gets added into the linked list
+     */
+    public synchronized void add(Account account, Date close) {
+        AccountNode node = new AccountNode(account, close);
+
+        node.next = first;
+        first = node;
+        size++;
+        if (++hot > hotLimit) freeze();
+        version++;
+    }
+
+    /**
+     * Freezes the oldest blockSize accounts of the linked list into a block
+     * of the cold tier.
+     */
+    private void freeze() {
+        AccountNode kept = first;
+        for (int i = 1; i < hot - blockSize; i++) {
+            kept = kept.next;
+        }
+        List<Account> accounts = new List<>();
+        List<Date> closes = new List<>();
+        for (AccountNode node = kept.next; node != null; node = node.next) {
+            accounts.add(node.account);
+            closes.add(node.close);
+        }
+        kept.next = null;
+        hot -= accounts.size();
+
+        long block = (long) blocks.size() << 32;
+        blocks.add(ArchiveBlock.freeze(accounts, closes));
+        for (int i = accounts.size() - 1; i >= 0; i--) { // the newest of repeated numbers wins
+            index.put(accounts.get(i).getNumber().toString(), block | i);
+        }
+    }
+
+    /**
+     * Gets the number of closed accounts in the archive.
+     *
+     * @return the number of closed accounts.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Gets the version of the archive, bumped by every account added, so
+     * prints at the same version are the same.
+     *
+     * @return the version.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Goes through the closed accounts in the order print() prints them,
+     * restoring the accounts of the cold tier one block at a time.
+     *
+     * @param action called with every account and its closing date.
+     */
+    synchronized void forEach(BiConsumer<Account, Date> action) {
+        for (AccountNode node = first; node != null; node = node.next) {
+            action.accept(node.account, node.close);
+        }
+        for (int i = blocks.size() - 1; i >= 0; i--) {
+            blocks.get(i).forEach(action);
+        }
+    }
+
+    /**
+     * Gets the number of closed accounts frozen in the cold tier.
+     *
+     * @return the number of cold accounts.
+     */
+    public synchronized int getCold() {
+        return size - hot;
+    }
+
+    /**
+     * Gets the number of bytes the cold tier keeps in memory, without the index.
+     *
+     * @return the compressed size of the blocks.
+     */
+    public synchronized long getColdBytes() {
+        long bytes = 0;
+        for (ArchiveBlock block : blocks) bytes += block.getCompressedSize();
+        return bytes;
+    }
+
+    /**
+     * Prints one closed account the way print() does. An account of the
+     * cold tier is found through the index and only its block is inflated.
+     *
+     * @param number the 9-digit account number.
+     * @return the account, its closing date and activities, null if it is not in the archive.
+     */
+    public synchronized String printAccount(String number) {
+        for (AccountNode node = first; node != null; node = node.next) {
+            if (node.account.getNumber().toString().equals(number)) {
+                return node.appendTo(new StringBuilder()).toString();
+            }
+        }
+        Long position = index.get(number);
+        if (position == null) return null;
+        StringBuilder print = new StringBuilder();
+        blocks.get((int) (position >>> 32)).get(position.intValue(), (account, close) -> appendEntry(print, account, close));
+        return print.toString();
+    }
+
+    /**
+     * Prints the closed accounts in the linked list
+     * Traverses through the linked list and prints the accounts, then the
+     * blocks of the cold tier, newest first
+     *
+     * @return
+     */
+    public synchronized String print() {
+        StringBuilder print = new StringBuilder();
+
+        AccountNode currentNode = first;
+
+        print.append("\n*List of closed accounts in the archive.").append("\n");
+
+        while (currentNode != null) {
+            currentNode.appendTo(print).append("\n\n");
+            currentNode = currentNode.next;
+        }
+        for (int i = blocks.size() - 1; i >= 0; i--) {
+            blocks.get(i).forEach((account, close) -> appendEntry(print, account, close).append("\n\n"));
+        }
+        print.append("*end of list.\n");
+        return print.toString();
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.util.Date;
+import com.example.project3rubank.util.List;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.BiConsumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The ArchiveBlock class is a block of the cold tier of the Archive: closed
+ * accounts and their activities serialized to compact records and
+ * compressed together with a Deflater. Branches, account types and campuses
+ * are stored as their ordinals and dates as yyyymmdd ints, so a record is a
+ * few dozen bytes plus 16 per activity before compression, instead of a graph
+ * of objects.
+ *
+ * The offset of every record in the inflated block is kept, so one account
+ * can be read back without decoding the records before it. Reading a block
+ * restores the accounts as new objects; they print the same as the accounts
+ * that were frozen.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+class ArchiveBlock {
+    private final byte[] data;   // the deflated records
+    private final int length;    // the size of the inflated records
+    private final int[] offsets; // the start of every record in the inflated records
+
+    /**
+     * Creates a block from its deflated records.
+     *
+     * @param data    the deflated records.
+     * @param length  the size of the inflated records.
+     * @param offsets the start of every record.
+     */
+    private ArchiveBlock(byte[] data, int length, int[] offsets) {
+        this.data = data;
+        this.length = length;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Serializes and compresses closed accounts.
+     *
+     * @param accounts the accounts, in the order they are printed.
+     * @param closes   the closing date of every account.
+     * @return the block.
+     */
+    static ArchiveBlock freeze(List<Account> accounts, List<Date> closes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int[] offsets = new int[accounts.size()];
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (int i = 0; i < accounts.size(); i++) {
+                offsets[i] = out.size();
+                write(out, accounts.get(i), closes.get(i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot serialize the archived accounts", e);
+        }
+        byte[] records = bytes.toByteArray();
+
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        deflater.setInput(records);
+        deflater.finish();
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream(records.length / 4 + 64);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            deflated.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return new ArchiveBlock(deflated.toByteArray(), records.length, offsets);
+    }
+
+    /**
+     * Gets the number of accounts in the block.
+     *
+     * @return the number of accounts.
+     */
+    int size() {
+        return offsets.length;
+    }
+
+    /**
+     * Gets the number of bytes the block keeps in memory.
+     *
+     * @return the size of the deflated records and their offsets.
+     */
+    int getCompressedSize() {
+        return data.length + offsets.length * Integer.BYTES;
+    }
+
+    /**
+     * Restores every account of the block, in the order they were frozen.
+     *
+     * @param action called with every account and its closing date.
+     */
+    void forEach(BiConsumer<Account, Date> action) {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(inflate()));
+        try {
+            for (int i = 0; i < offsets.length; i++) read(in, action);
+        } catch (IOException e) {
+            throw new UncheckedIOException("The archive block is corrupt", e);
+        }
+    }
+
+    /**
+     * Restores one account of the block.
+     *
+     * @param record the position of the account in the block.
+     * @param action called with the account and its closing date.
+     */
+    void get(int record, BiConsumer<Account, Date> action) {
+        byte[] records = inflate();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(records, offsets[record], records.length - offsets[record]));
+        try {
+            read(in, action);
+        } catch (IOException e) {
+            throw new UncheckedIOException("The archive block is corrupt", e);
+        }
+    }
+
+    /**
+     * Inflates the records of the block.
+     *
+     * @return the records.
+     */
+    private byte[] inflate() {
+        byte[] records = new byte[length];
+        Inflater inflater = new Inflater();
+        inflater.setInput(data);
+        try {
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                read += inflater.inflate(records, read, length - read);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("The archive block is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+        return records;
+    }
+
+    /**
+     * Writes one closed account as a record: the type, branch and 4-digit
+     * number, the holder, the balance, the closing date, the fields of the
+     * account type and the activities.
+     *
+     * @param out     the records.
+     * @param account the account.
+     * @param close   the closing date.
+     * @throws IOException if the record cannot be written.
+     */
+    private static void write(DataOutputStream out, Account account, Date close) throws IOException {
+        AccountNumber number = account.getNumber();
+        String text = number.toString();
+        out.writeByte(number.getType().ordinal());
+        out.writeByte(number.getBranch().ordinal());
+        out.writeShort(Integer.parseInt(text.substring(text.length() - 4)));
+        Profile holder = account.getHolder();
+        out.writeUTF(holder.getFirstName());
+        out.writeUTF(holder.getLastName());
+        out.writeInt(pack(holder.getDateOfBirth()));
+        out.writeDouble(account.getBalance());
+        out.writeInt(pack(close));
+        switch (number.getType()) {
+            case SAVINGS -> out.writeBoolean(((Savings) account).isLoyal());
+            case MONEY_MARKET -> {
+                out.writeBoolean(((MoneyMarket) account).isLoyal());
+                out.writeInt(((MoneyMarket) account).getWithdrawals());
+            }
+            case COLLEGE_CHECKING -> {
+                Campus campus = ((CollegeChecking) account).getCampus();
+                out.writeByte(campus == null ? -1 : campus.ordinal());
+            }
+            case CD -> {
+                CertificateDeposit cd = (CertificateDeposit) account;
+                out.writeBoolean(cd.isLoyal());
+                out.writeInt(cd.getTerm());
+                out.writeInt(pack(cd.getOpen()));
+            }
+            default -> { }
+        }
+        List<Activity> activities = account.getActivities();
+        int count = activities == null ? 0 : activities.size();
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            Activity activity = activities.get(i);
+            out.writeInt(pack(activity.getDate()));
+            out.writeByte(activity.getLocation() == null ? -1 : activity.getLocation().ordinal());
+            out.writeChar(activity.getType());
+            out.writeDouble(activity.getAmount());
+            out.writeBoolean(activity.isAtm());
+        }
+    }
+
+    /**
+     * Reads one record written by write() and restores the account.
+     *
+     * @param in     the records.
+     * @param action called with the account and its closing date.
+     * @throws IOException if the record cannot be read.
+     */
+    private static void read(DataInputStream in, BiConsumer<Account, Date> action) throws IOException {
+        AccountType type = AccountType.values()[in.readByte()];
+        Branch branch = Branch.values()[in.readByte()];
+        String digits = String.format("%04d", in.readShort());
+        AccountNumber number = new AccountNumber(branch, type, digits);
+        Profile holder = new Profile(in.readUTF(), in.readUTF(), unpack(in.readInt()));
+        double balance = in.readDouble();
+        Date close = unpack(in.readInt());
+        Account account = switch (type) {
+            case CHECKING -> new Checking(number, holder, balance);
+            case SAVINGS -> new Savings(number, holder, balance, in.readBoolean());
+            case MONEY_MARKET -> {
+                MoneyMarket moneyMarket = new MoneyMarket(number, holder, balance, in.readBoolean());
+                for (int i = in.readInt(); i > 0; i--) moneyMarket.incrementWithdrawals();
+                yield moneyMarket;
+            }
+            case COLLEGE_CHECKING -> {
+                int campus = in.readByte();
+                yield new CollegeChecking(number, holder, balance, campus < 0 ? null : Campus.values()[campus]);
+            }
+            case CD -> {
+                boolean loyal = in.readBoolean();
+                CertificateDeposit cd = new CertificateDeposit(number, holder, balance, loyal, in.readInt(), unpack(in.readInt()));
+                cd.setLoyal(loyal);
+                yield cd;
+            }
+        };
+        for (int i = in.readInt(); i > 0; i--) {
+            Date date = unpack(in.readInt());
+            int location = in.readByte();
+            account.addActivity(new Activity(date, location < 0 ? null : Branch.values()[location],
+                    in.readChar(), in.readDouble(), in.readBoolean()));
+        }
+        action.accept(account, close);
+    }
+
+    /**
+     * Packs a date into an int as yyyymmdd.
+     *
+     * @param date the date.
+     * @return the packed date.
+     */
+    private static int pack(Date date) {
+        return date.getYear() * 10000 + date.getMonth() * 100 + date.getDay();
+    }
+
+    /**
+     * Unpacks a date packed by pack().
+     *
+     * @param date the packed date.
+     * @return the date.
+     */
+    private static Date unpack(int date) {
+        return new Date(date / 10000 + "-" + date / 100 % 100 + "-" + date % 100);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.project3rubank.bank;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Thrown when a line of an accounts or activities file cannot be parsed. It
+ * names the field that could not be read, so a tolerant load can report the
+ * line, the field and the reason without parsing the line again.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+class BadLineException extends IOException {
+    private static final long serialVersionUID = 1L;
+    private final String field;
+    private final String reason;
+
+    /**
+     * Creates the exception for a field that could not be read.
+     *
+     * @param field the name of the field, as in the file format.
+     * @param cause what went wrong reading the field.
+     */
+    BadLineException(String field, Throwable cause) {
+        super(field + " " + reason(cause), cause);
+        this.field = field;
+        this.reason = reason(cause);
+    }
+
+    /**
+     * Gets the name of the field that could not be read.
+     *
+     * @return the field.
+     */
+    String getField() {
+        return field;
+    }
+
+    /**
+     * Gets why the field could not be read.
+     *
+     * @return the reason.
+     */
+    String getReason() {
+        return reason;
+    }
+
+    /**
+     * Describes what went wrong reading a field.
+     *
+     * @param cause the exception thrown reading the field.
+     * @return the reason.
+     */
+    private static String reason(Throwable cause) {
+        if (cause instanceof NoSuchElementException) return "is missing";
+        if (cause instanceof IndexOutOfBoundsException) return "is not MM/DD/YYYY";
+        if (cause instanceof NumberFormatException) return "is not a number: " + cause.getMessage();
+        if (cause instanceof IllegalArgumentException && cause.getMessage() != null) {
+            String message = cause.getMessage(); // No enum constant ...Branch.NAME
+            return "is unknown: " + message.substring(message.lastIndexOf('.') + 1);
+        }
+        return "is invalid: " + cause;
+    }
+}
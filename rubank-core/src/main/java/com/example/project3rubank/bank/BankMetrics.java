@@ -0,0 +1,135 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.util.LatencyHistogram;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+
+/**
+ * The BankMetrics class is the registry of latency histograms for every
+ * bank operation, plus gauges for the account count, archive size and
+ * activity count of a watched database. All of it can be exposed as JMX
+ * MBeans under the com.example.project3rubank domain.
+ *
+ * AccountDatabase records into the shared registry returned by
+ * getDefault(), so every database in the process adds to the same numbers.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class BankMetrics implements BankMetricsMBean {
+    private static final String DOMAIN = "com.example.project3rubank";
+    private static final BankMetrics DEFAULT = new BankMetrics();
+
+    /**
+     * The operations that are timed.
+     */
+    public enum Operation {
+        OPEN, CLOSE, DEPOSIT, WITHDRAW, LOAD_ACCOUNTS, PROCESS_ACTIVITIES,
+        PRINT_BY_BRANCH, PRINT_BY_HOLDER, PRINT_BY_TYPE, PRINT_STATEMENTS, PRINT_ARCHIVE
+    }
+
+    private final EnumMap<Operation, LatencyHistogram> histograms = new EnumMap<>(Operation.class);
+    private final LatencyHistogram[] byOrdinal = new LatencyHistogram[Operation.values().length];
+    private volatile AccountDatabase watched;
+
+    /**
+     * Creates a registry with an empty histogram per operation.
+     */
+    public BankMetrics() {
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histograms.put(operation, histogram);
+            byOrdinal[operation.ordinal()] = histogram;
+        }
+    }
+
+    /**
+     * Gets the registry shared by every database in the process.
+     *
+     * @return the shared registry.
+     */
+    public static BankMetrics getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Records an operation that started at the given System.nanoTime().
+     *
+     * @param operation the operation.
+     * @param start     the System.nanoTime() when the operation started.
+     */
+    public void record(Operation operation, long start) {
+        byOrdinal[operation.ordinal()].record(System.nanoTime() - start);
+    }
+
+    /**
+     * Gets the histogram of an operation.
+     *
+     * @param operation the operation.
+     * @return the histogram.
+     */
+    public LatencyHistogram get(Operation operation) {
+        return histograms.get(operation);
+    }
+
+    /**
+     * Sets the database the gauges report on and registers the registry and
+     * every histogram with the platform MBean server. Registering again
+     * replaces the earlier MBeans.
+     *
+     * @param database the database to watch.
+     * @throws JMException if the MBeans cannot be registered.
+     */
+    public void register(AccountDatabase database) throws JMException {
+        this.watched = database;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        register(server, new ObjectName(DOMAIN + ":type=Bank"), this);
+        for (Operation operation : Operation.values()) {
+            ObjectName name = new ObjectName(DOMAIN + ":type=Operation,name=" + operation.name().toLowerCase());
+            register(server, name, histograms.get(operation));
+        }
+    }
+
+    /**
+     * Registers one MBean, replacing the MBean already registered under the name.
+     *
+     * @param server the MBean server.
+     * @param name   the object name.
+     * @param bean   the MBean.
+     * @throws JMException if the MBean cannot be registered.
+     */
+    private static void register(MBeanServer server, ObjectName name, Object bean) throws JMException {
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(bean, name);
+    }
+
+    @Override
+    public int getAccountCount() {
+        AccountDatabase database = watched;
+        return database == null ? 0 : database.size();
+    }
+
+    @Override
+    public int getArchiveSize() {
+        AccountDatabase database = watched;
+        return database == null ? 0 : database.getArchive().size();
+    }
+
+    @Override
+    public long getActivityCount() {
+        AccountDatabase database = watched;
+        return database == null ? 0 : database.getActivityCount();
+    }
+
+    @Override
+    public void resetAll() {
+        for (LatencyHistogram histogram : byOrdinal) {
+            histogram.reset();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.project3rubank.bank;
+
+/**
+ * The JMX management interface with the gauges of the watched database.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public interface BankMetricsMBean {
+
+    /**
+     * Gets the number of open accounts.
+     *
+     * @return the account count.
+     */
+    int getAccountCount();
+
+    /**
+     * Gets the number of closed accounts in the archive.
+     *
+     * @return the archive size.
+     */
+    int getArchiveSize();
+
+    /**
+     * Gets the number of activities recorded on the open accounts.
+     *
+     * @return the activity count.
+     */
+    long getActivityCount();
+
+    /**
+     * Clears the latency histograms of every operation.
+     */
+    void resetAll();
+}
@@ -0,0 +1,311 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.util.Money;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The BankTotals class keeps the number of open accounts and the sum of
+ * their balances per branch, county, account type and campus. The database
+ * updates the totals when an account is opened or closed and whenever a
+ * balance changes, so every total is read in O(1) instead of scanning the
+ * accounts. The counters are striped adders, so threads updating different
+ * accounts at the same time don't contend on one counter.
+ *
+ * The totals of a database that is being changed are a moment-in-time sum,
+ * the count and balance of a group are not read atomically together.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class BankTotals {
+    private static final String[] COUNTIES = counties();
+    private static final int[] COUNTY_OF_BRANCH = countyOfBranch();
+
+    private final LongAdder[] branchCounts = longAdders(Branch.values().length);
+    private final DoubleAdder[] branchBalances = doubleAdders(Branch.values().length);
+    private final LongAdder[] countyCounts = longAdders(COUNTIES.length);
+    private final DoubleAdder[] countyBalances = doubleAdders(COUNTIES.length);
+    private final LongAdder[] typeCounts = longAdders(AccountType.values().length);
+    private final DoubleAdder[] typeBalances = doubleAdders(AccountType.values().length);
+    private final LongAdder[] campusCounts = longAdders(Campus.values().length);
+    private final DoubleAdder[] campusBalances = doubleAdders(Campus.values().length);
+
+    /**
+     * Creates totals with no accounts.
+     */
+    public BankTotals() {
+
+    }
+
+    /**
+     * Lists the counties of the branches, each once, in branch order.
+     *
+     * @return the county names.
+     */
+    private static String[] counties() {
+        String[] counties = new String[Branch.values().length];
+        int count = 0;
+        for (Branch branch : Branch.values()) {
+            boolean found = false;
+            for (int i = 0; i < count && !found; i++) {
+                found = counties[i].equals(branch.getCounty());
+            }
+            if (!found) counties[count++] = branch.getCounty();
+        }
+        String[] result = new String[count];
+        System.arraycopy(counties, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Maps every branch to the position of its county in COUNTIES.
+     *
+     * @return the county positions, indexed by the ordinal of the branch.
+     */
+    private static int[] countyOfBranch() {
+        int[] county = new int[Branch.values().length];
+        for (Branch branch : Branch.values()) {
+            county[branch.ordinal()] = countyIndex(branch.getCounty());
+        }
+        return county;
+    }
+
+    /**
+     * Finds the position of a county in COUNTIES.
+     *
+     * @param county the county name.
+     * @return the position, -1 if no branch is in the county.
+     */
+    private static int countyIndex(String county) {
+        for (int i = 0; i < COUNTIES.length; i++) {
+            if (COUNTIES[i].equals(county)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Creates an array of counters.
+     *
+     * @param length the number of counters.
+     * @return the counters.
+     */
+    private static LongAdder[] longAdders(int length) {
+        LongAdder[] adders = new LongAdder[length];
+        for (int i = 0; i < length; i++) adders[i] = new LongAdder();
+        return adders;
+    }
+
+    /**
+     * Creates an array of sums.
+     *
+     * @param length the number of sums.
+     * @return the sums.
+     */
+    private static DoubleAdder[] doubleAdders(int length) {
+        DoubleAdder[] adders = new DoubleAdder[length];
+        for (int i = 0; i < length; i++) adders[i] = new DoubleAdder();
+        return adders;
+    }
+
+    /**
+     * Counts an account that was opened, with its balance.
+     *
+     * @param account the account.
+     */
+    void opened(Account account) {
+        update(account, 1, account.getBalance());
+    }
+
+    /**
+     * Removes an account that was closed, with its balance.
+     *
+     * @param account the account.
+     */
+    void closed(Account account) {
+        update(account, -1, -account.getBalance());
+    }
+
+    /**
+     * Adds a change of an account's balance.
+     *
+     * @param account the account.
+     * @param change  the new balance minus the old balance.
+     */
+    void changed(Account account, double change) {
+        if (change != 0) update(account, 0, change);
+    }
+
+    /**
+     * Updates every group the account belongs to.
+     *
+     * @param account the account.
+     * @param count   the change in the number of accounts.
+     * @param balance the change in the sum of the balances.
+     */
+    private void update(Account account, long count, double balance) {
+        Branch branch = account.getNumber().getBranch();
+        int type = account.getNumber().getType().ordinal();
+        int county = COUNTY_OF_BRANCH[branch.ordinal()];
+        if (count != 0) {
+            branchCounts[branch.ordinal()].add(count);
+            countyCounts[county].add(count);
+            typeCounts[type].add(count);
+        }
+        branchBalances[branch.ordinal()].add(balance);
+        countyBalances[county].add(balance);
+        typeBalances[type].add(balance);
+        if (account instanceof CollegeChecking college && college.getCampus() != null) {
+            int campus = college.getCampus().ordinal();
+            if (count != 0) campusCounts[campus].add(count);
+            campusBalances[campus].add(balance);
+        }
+    }
+
+    /**
+     * Gets the number of open accounts.
+     *
+     * @return the number of accounts.
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder adder : typeCounts) count += adder.sum();
+        return count;
+    }
+
+    /**
+     * Gets the sum of the balances of the open accounts.
+     *
+     * @return the total balance.
+     */
+    public double getBalance() {
+        double balance = 0;
+        for (DoubleAdder adder : typeBalances) balance += adder.sum();
+        return balance;
+    }
+
+    /**
+     * Gets the number of open accounts of a branch.
+     *
+     * @param branch the branch.
+     * @return the number of accounts.
+     */
+    public long getCount(Branch branch) {
+        return branchCounts[branch.ordinal()].sum();
+    }
+
+    /**
+     * Gets the sum of the balances of a branch.
+     *
+     * @param branch the branch.
+     * @return the total balance.
+     */
+    public double getBalance(Branch branch) {
+        return branchBalances[branch.ordinal()].sum();
+    }
+
+    /**
+     * Gets the number of open accounts of the branches in a county.
+     *
+     * @param county the county name, as in Branch.getCounty().
+     * @return the number of accounts, 0 for a county without branches.
+     */
+    public long getCount(String county) {
+        int index = countyIndex(county);
+        return index < 0 ? 0 : countyCounts[index].sum();
+    }
+
+    /**
+     * Gets the sum of the balances of the branches in a county.
+     *
+     * @param county the county name, as in Branch.getCounty().
+     * @return the total balance, 0 for a county without branches.
+     */
+    public double getBalance(String county) {
+        int index = countyIndex(county);
+        return index < 0 ? 0 : countyBalances[index].sum();
+    }
+
+    /**
+     * Gets the number of open accounts of a type.
+     *
+     * @param type the account type.
+     * @return the number of accounts.
+     */
+    public long getCount(AccountType type) {
+        return typeCounts[type.ordinal()].sum();
+    }
+
+    /**
+     * Gets the sum of the balances of a type.
+     *
+     * @param type the account type.
+     * @return the total balance.
+     */
+    public double getBalance(AccountType type) {
+        return typeBalances[type.ordinal()].sum();
+    }
+
+    /**
+     * Gets the number of open college checking accounts of a campus.
+     *
+     * @param campus the campus.
+     * @return the number of accounts.
+     */
+    public long getCount(Campus campus) {
+        return campusCounts[campus.ordinal()].sum();
+    }
+
+    /**
+     * Gets the sum of the balances of the college checking accounts of a campus.
+     *
+     * @param campus the campus.
+     * @return the total balance.
+     */
+    public double getBalance(Campus campus) {
+        return campusBalances[campus.ordinal()].sum();
+    }
+
+    /**
+     * Prints every total, by county, branch, account type and campus.
+     *
+     * @return the report.
+     */
+    public String print() {
+        StringBuilder print = new StringBuilder();
+        print.append("\n*Account totals by county, branch, account type and campus.\n");
+        print.append("County:\n");
+        for (String county : COUNTIES) {
+            line(print, county, getCount(county), getBalance(county));
+        }
+        print.append("Branch:\n");
+        for (Branch branch : Branch.values()) {
+            line(print, branch.name(), getCount(branch), getBalance(branch));
+        }
+        print.append("Account Type:\n");
+        for (AccountType type : AccountType.values()) {
+            line(print, type.toString(), getCount(type), getBalance(type));
+        }
+        print.append("Campus:\n");
+        for (Campus campus : Campus.values()) {
+            line(print, campus.name(), getCount(campus), getBalance(campus));
+        }
+        print.append("Total:\n");
+        line(print, "ALL", getCount(), getBalance());
+        print.append("*end of totals.\n");
+        return print.toString();
+    }
+
+    /**
+     * Prints the totals of one group.
+     *
+     * @param print   the report.
+     * @param name    the group.
+     * @param count   the number of accounts.
+     * @param balance the total balance.
+     */
+    private static void line(StringBuilder print, String name, long count, double balance) {
+        print.append('\t').append(name).append(" Accounts[").append(count).append("] Balance[$");
+        Money.append(print, balance).append("]\n");
+    }
+}
@@ -25,6 +25,7 @@ public class CertificateDeposit extends Savings {
 
 	private int term;
 	private Date open;
+	private Date maturity; // the term and open date never change, so it is computed once
 
 	/**
 	 *  Creates a Certificate Deposit account with the listed parameters.
@@ -123,11 +124,26 @@ public class CertificateDeposit extends Savings {
 	}
 
 	/**
-	 * Private helper method to calculate the maturity date of the CD account.
+	 * Gets the maturity date of the CD account, the open date plus the term.
+	 * It is calculated on first use, the term and open date never change.
 	 *
 	 * @return The maturity data of the CD account.
 	 */
 	public Date getMaturityDate() {
+		Date maturity = this.maturity;
+		if (maturity == null) {
+			maturity = calculateMaturityDate();
+			this.maturity = maturity;
+		}
+		return maturity;
+	}
+
+	/**
+	 * Private helper method to calculate the maturity date of the CD account.
+	 *
+	 * @return The maturity data of the CD account.
+	 */
+	private Date calculateMaturityDate() {
 		Calendar maturityDateCal = Calendar.getInstance();
 		maturityDateCal.set(Calendar.YEAR, open.getYear());
 		maturityDateCal.set(Calendar.MONTH, open.getMonth() - 1);
@@ -220,19 +236,15 @@ public class CertificateDeposit extends Savings {
 	}
 
 	/**
-	 *  Returns a string representation of the CD account information
-	 *  (including Term, Date opened and Maturity date details).
+	 *  Appends the term, date opened and maturity date after the account
+	 *  information. The loyalty status isn't printed, CDs are always loyal.
 	 *
-	 * @return	String representation of the CD account information.
+	 * @param out	The buffer.
 	 */
 	@Override
-	public String toString() {
-
-		String base = String.format("Account#[%s] Holder[%s] Balance[$%,.2f] Branch[%s]",
-				getNumber(), holder.toString(), balance, number.getBranch().name());
-
-		base += String.format( " Term[%s] Date opened[%s] Maturity date[%s]", term, open, getMaturityDate());
-
-		return base;
+	protected void appendDetails(StringBuilder out) {
+		out.append(" Term[").append(term).append("] Date opened[");
+		open.appendTo(out).append("] Maturity date[");
+		getMaturityDate().appendTo(out).append(']');
 	}
 }
@@ -28,6 +28,15 @@ public class CollegeChecking extends Checking {
 		this.campus = campus;
 	}
 
+	/**
+	 *  Gets the campus of the account holder.
+	 *
+	 * @return	The campus.
+	 */
+	public Campus getCampus() {
+		return campus;
+	}
+
 	/**
 	 * 	Changes the fee to 0 for college checking accounts.
 	 * @return	0.0 since college checking doesn't have fees.
@@ -58,17 +67,12 @@ public class CollegeChecking extends Checking {
 	}
 
 	/**
-	 *  Returns a string representation of the college checking account information
-	 * 	(including the campus information).
-	 * @return	String representation of College Checking account information.
+	 *  Appends the campus information after the account information.
+	 *
+	 * @param out	The buffer.
 	 */
 	@Override
-	public String toString() {
-		String base = String.format("Account#[%s] Holder[%s] Balance[$%,.2f] Branch[%s]",
-				getNumber(), holder.toString(), balance, number.getBranch().name());
-
-		base += String.format(" Campus[%s]", campus);
-
-		return base;
+	protected void appendDetails(StringBuilder out) {
+		out.append(" Campus[").append(campus).append(']');
 	}
 }
@@ -0,0 +1,393 @@
+package com.example.project3rubank.bank;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Random;
+
+/**
+ * The DataGenerator class writes synthetic accounts and activities files in
+ * the exact formats AccountDatabase.loadAccounts() and processActivities()
+ * parse, for capacity planning and benchmarking.
+ *
+ * Account numbers are not part of the accounts file, they are assigned by
+ * AccountNumber from its fixed-seed random sequence while the file is loaded.
+ * The generator replays that sequence, so the activities it writes reference
+ * valid account numbers as long as the accounts file is the first one loaded
+ * by the process. The serials are random, so two accounts of the same branch
+ * and type would soon get the same number, and the activities of the second
+ * would go to the first. The generator keeps the numbers it assigned and
+ * skips an account whose number is taken; the serial is then given to the
+ * next account written. Every number is unique, so a branch and type hold at
+ * most 9,999 accounts and files asking for more have fewer accounts.
+ *
+ * Everything is derived from the seed given to the constructor, the same
+ * settings always produce the same files.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class DataGenerator {
+    private static final String[] FIRST_NAMES = {"John", "Jane", "April", "Jason", "Kate", "Roy", "Chris", "Duke",
+            "Eric", "Andrew", "Maria", "David", "Sarah", "Michael", "Emily", "Daniel", "Olivia", "James", "Sofia",
+            "Luis", "Aisha", "Wei", "Priya", "Omar", "Grace", "Noah", "Chloe", "Ethan", "Mia", "Lucas"};
+    private static final String[] LAST_NAMES = {"Doe", "March", "Brown", "Lindsey", "Brooks", "Young", "Ellington",
+            "Anderson", "Johnson", "Patel", "Lim", "Smith", "Garcia", "Nguyen", "Kim", "Rodriguez", "Chen", "Khan",
+            "Lopez", "Williams", "Singh", "Martinez", "Lee", "Davis", "Wilson", "Taylor", "Thomas", "Moore", "Clark",
+            "Lewis"};
+    private static final double MONEY_MARKET_MINIMUM = 2000.0;
+    private static final int MAX_TRANSACTION = 2000;
+
+    private final Random rand;
+    private int holders = 1000;
+    private int maxAccountsPerHolder = 3;
+    private int activities = 10000;
+    private final EnumMap<AccountType, Double> typeWeights = new EnumMap<>(AccountType.class);
+    private int[] cdTerms = {3, 6, 9, 12};
+    private double hotAccounts = 0.01;
+    private double hotShare = 0.5;
+    private double maxBalance = 20000.0;
+    private LocalDate dobFrom = LocalDate.of(1950, 1, 1);
+    private LocalDate dobTo = LocalDate.of(2005, 12, 31);
+    private LocalDate openFrom = LocalDate.of(2023, 1, 1);
+    private LocalDate openTo = LocalDate.of(2025, 1, 31);
+    private LocalDate activityFrom = LocalDate.of(2025, 2, 1);
+    private LocalDate activityTo = LocalDate.of(2025, 2, 28);
+
+    /**
+     * Creates a generator with the default settings.
+     *
+     * @param seed the seed every random choice is derived from.
+     */
+    public DataGenerator(long seed) {
+        this.rand = new Random(seed);
+        for (AccountType type : AccountType.values()) {
+            typeWeights.put(type, 1.0);
+        }
+    }
+
+    /**
+     * Sets the number of account holders to generate.
+     *
+     * @param holders the number of holders.
+     */
+    public void setHolders(int holders) { this.holders = holders; }
+
+    /**
+     * Sets the maximum number of accounts per holder, every holder gets
+     * between one and this many accounts.
+     *
+     * @param maxAccountsPerHolder the maximum number of accounts per holder.
+     */
+    public void setMaxAccountsPerHolder(int maxAccountsPerHolder) { this.maxAccountsPerHolder = maxAccountsPerHolder; }
+
+    /**
+     * Sets the number of activity records to generate.
+     *
+     * @param activities the number of activities.
+     */
+    public void setActivities(int activities) { this.activities = activities; }
+
+    /**
+     * Sets the relative weight of an account type, 0 leaves the type out.
+     *
+     * @param type   the account type.
+     * @param weight the relative weight of the type.
+     */
+    public void setTypeWeight(AccountType type, double weight) { typeWeights.put(type, weight); }
+
+    /**
+     * Sets the CD terms to pick from, repeat a term to make it more likely.
+     *
+     * @param terms the terms in months.
+     */
+    public void setCdTerms(int... terms) { this.cdTerms = terms.clone(); }
+
+    /**
+     * Sets the hot accounts, a fraction of the accounts that receives a share
+     * of all the activities.
+     *
+     * @param fraction the fraction of the accounts that are hot.
+     * @param share    the fraction of the activities that go to hot accounts.
+     */
+    public void setHotAccounts(double fraction, double share) {
+        this.hotAccounts = fraction;
+        this.hotShare = share;
+    }
+
+    /**
+     * Sets the largest opening balance.
+     *
+     * @param maxBalance the largest opening balance.
+     */
+    public void setMaxBalance(double maxBalance) { this.maxBalance = maxBalance; }
+
+    /**
+     * Sets the range the holders' dates of birth are picked from.
+     *
+     * @param from the earliest date of birth.
+     * @param to   the latest date of birth.
+     */
+    public void setDateOfBirthRange(LocalDate from, LocalDate to) {
+        this.dobFrom = from;
+        this.dobTo = to;
+    }
+
+    /**
+     * Sets the range the CD opening dates are picked from.
+     *
+     * @param from the earliest opening date.
+     * @param to   the latest opening date.
+     */
+    public void setOpenDateRange(LocalDate from, LocalDate to) {
+        this.openFrom = from;
+        this.openTo = to;
+    }
+
+    /**
+     * Sets the range the activity dates are picked from.
+     *
+     * @param from the earliest activity date.
+     * @param to   the latest activity date.
+     */
+    public void setActivityDateRange(LocalDate from, LocalDate to) {
+        this.activityFrom = from;
+        this.activityTo = to;
+    }
+
+    /**
+     * Writes the accounts file and the matching activities file.
+     *
+     * @param accountsFile   the file to write the accounts to.
+     * @param activitiesFile the file to write the activities to.
+     * @return the number of accounts written.
+     * @throws IOException if one of the files cannot be written.
+     */
+    public int write(File accountsFile, File activitiesFile) throws IOException {
+        int[] numbers = writeAccounts(accountsFile);
+        writeActivities(activitiesFile, numbers);
+        return numbers.length;
+    }
+
+    /**
+     * Writes the accounts file and returns the account numbers a fresh load
+     * of it will assign, in file order. An account whose number would repeat
+     * one already assigned is not written.
+     *
+     * @param file the file to write the accounts to.
+     * @return the account numbers.
+     * @throws IOException if the file cannot be written.
+     */
+    private int[] writeAccounts(File file) throws IOException {
+        Random numberSequence = new Random(AccountNumber.SEED);
+        int[] numbers = new int[Math.max(16, holders)];
+        int count = 0;
+        BitSet assigned = new BitSet(Branch.values().length * AccountType.values().length * 10000);
+        String serial = null; // the serial the next account loaded gets
+        StringBuilder line = new StringBuilder();
+
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(file), 1 << 16)) {
+            for (int h = 0; h < holders; h++) {
+                String first = FIRST_NAMES[rand.nextInt(FIRST_NAMES.length)];
+                String last = LAST_NAMES[rand.nextInt(LAST_NAMES.length)];
+                String dob = format(randomDate(dobFrom, dobTo));
+                int accounts = 1 + rand.nextInt(maxAccountsPerHolder);
+                boolean[] used = new boolean[AccountType.values().length];
+
+                for (int a = 0; a < accounts; a++) {
+                    AccountType type = randomType();
+                    if (type == null || (type != AccountType.CD && used[type.ordinal()])) continue;
+                    Branch branch = Branch.values()[rand.nextInt(Branch.values().length)];
+                    if (serial == null) serial = AccountNumber.generateRandomNumber(numberSequence);
+                    int key = (branch.ordinal() * AccountType.values().length + type.ordinal()) * 10000 + Integer.parseInt(serial);
+                    if (assigned.get(key)) continue; // the number is taken, keep the serial for the next account
+                    assigned.set(key);
+                    used[type.ordinal()] = true;
+
+                    line.setLength(0);
+                    line.append(typeName(type)).append(',').append(branch.name().toLowerCase()).append(',')
+                            .append(first).append(',').append(last).append(',').append(dob).append(',')
+                            .append(randomBalance(type));
+                    if (type == AccountType.COLLEGE_CHECKING) {
+                        line.append(',').append(Campus.values()[rand.nextInt(Campus.values().length)].getCode());
+                    } else if (type == AccountType.CD) {
+                        line.append(',').append(cdTerms[rand.nextInt(cdTerms.length)])
+                                .append(',').append(format(randomDate(openFrom, openTo)));
+                    }
+                    out.write(line.toString());
+                    out.newLine();
+
+                    if (count == numbers.length) {
+                        int[] grown = new int[numbers.length * 2];
+                        System.arraycopy(numbers, 0, grown, 0, count);
+                        numbers = grown;
+                    }
+                    numbers[count++] = Integer.parseInt(branch.getBranchCode() + type.getCode() + serial);
+                    serial = null;
+                }
+            }
+        }
+        int[] result = new int[count];
+        System.arraycopy(numbers, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Writes the activities file, the accounts are picked from the hot set
+     * with the configured share and uniformly otherwise.
+     *
+     * @param file    the file to write the activities to.
+     * @param numbers the account numbers to reference.
+     * @throws IOException if the file cannot be written.
+     */
+    private void writeActivities(File file, int[] numbers) throws IOException {
+        int hot = numbers.length == 0 ? 0 : Math.max(1, (int) (numbers.length * hotAccounts));
+        int[] hotNumbers = new int[hot];
+        for (int i = 0; i < hot; i++) {
+            hotNumbers[i] = numbers[rand.nextInt(numbers.length)];
+        }
+        StringBuilder line = new StringBuilder();
+
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(file), 1 << 16)) {
+            if (numbers.length == 0) return;
+            for (int i = 0; i < activities; i++) {
+                int number = rand.nextDouble() < hotShare ? hotNumbers[rand.nextInt(hot)] : numbers[rand.nextInt(numbers.length)];
+                Branch location = Branch.values()[rand.nextInt(Branch.values().length)];
+
+                line.setLength(0);
+                line.append(rand.nextBoolean() ? 'D' : 'W').append(',').append(number).append(',')
+                        .append(format(randomDate(activityFrom, activityTo))).append(',')
+                        .append(location.name().toLowerCase()).append(',').append(1 + rand.nextInt(MAX_TRANSACTION));
+                out.write(line.toString());
+                out.newLine();
+            }
+        }
+    }
+
+    /**
+     * Picks an account type using the type weights.
+     *
+     * @return the account type, or null if every weight is 0.
+     */
+    private AccountType randomType() {
+        double total = 0;
+        for (double weight : typeWeights.values()) total += weight;
+        if (total <= 0) return null;
+        double pick = rand.nextDouble() * total;
+        for (AccountType type : AccountType.values()) {
+            pick -= typeWeights.get(type);
+            if (pick < 0) return type;
+        }
+        return AccountType.CHECKING;
+    }
+
+    /**
+     * Picks an opening balance that meets the minimum of the account type.
+     *
+     * @param type the account type.
+     * @return the balance with at most two decimals.
+     */
+    private String randomBalance(AccountType type) {
+        double minimum = 1.0;
+        if (type == AccountType.MONEY_MARKET) minimum = MONEY_MARKET_MINIMUM;
+        if (type == AccountType.CD) minimum = CertificateDeposit.MIN_BALANCE;
+        long cents = (long) (minimum * 100) + (long) (rand.nextDouble() * Math.max(0, maxBalance - minimum) * 100);
+        return cents / 100 + "." + (cents % 100 < 10 ? "0" : "") + cents % 100;
+    }
+
+    /**
+     * Picks a date between two dates, both included.
+     *
+     * @param from the earliest date.
+     * @param to   the latest date.
+     * @return the date.
+     */
+    private LocalDate randomDate(LocalDate from, LocalDate to) {
+        long days = to.toEpochDay() - from.toEpochDay() + 1;
+        return LocalDate.ofEpochDay(from.toEpochDay() + (long) (rand.nextDouble() * days));
+    }
+
+    /**
+     * Formats a date the way the input files write it, mm/dd/yyyy without
+     * leading zeros.
+     *
+     * @param date the date.
+     * @return the formatted date.
+     */
+    private static String format(LocalDate date) {
+        return date.getMonthValue() + "/" + date.getDayOfMonth() + "/" + date.getYear();
+    }
+
+    /**
+     * Returns the name loadAccounts() expects for the account type.
+     *
+     * @param type the account type.
+     * @return the name used in the accounts file.
+     */
+    private static String typeName(AccountType type) {
+        return switch (type) {
+            case CHECKING -> "checking";
+            case SAVINGS -> "savings";
+            case MONEY_MARKET -> "moneymarket";
+            case COLLEGE_CHECKING -> "college";
+            case CD -> "certificate";
+        };
+    }
+
+    /**
+     * Generates the files from the command line. Arguments are key=value
+     * pairs: accounts, activities (the two output files), holders,
+     * maxAccounts, activityCount, seed, cdTerms (comma separated),
+     * hotFraction, hotShare, maxBalance and weight.TYPE (for example
+     * weight.CD=0.5).
+     *
+     * @param args the command line arguments.
+     * @throws IOException if one of the files cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        long seed = 1;
+        for (String arg : args) {
+            if (arg.startsWith("seed=")) seed = Long.parseLong(arg.substring("seed=".length()));
+        }
+        DataGenerator generator = new DataGenerator(seed);
+        File accounts = new File("accounts-generated.txt");
+        File activities = new File("activities-generated.txt");
+        double hotFraction = generator.hotAccounts;
+        double hotShare = generator.hotShare;
+
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split < 0) throw new IllegalArgumentException("Expected key=value: " + arg);
+            String key = arg.substring(0, split);
+            String value = arg.substring(split + 1);
+            switch (key) {
+                case "seed" -> { }
+                case "accounts" -> accounts = new File(value);
+                case "activities" -> activities = new File(value);
+                case "holders" -> generator.setHolders(Integer.parseInt(value));
+                case "maxAccounts" -> generator.setMaxAccountsPerHolder(Integer.parseInt(value));
+                case "activityCount" -> generator.setActivities(Integer.parseInt(value));
+                case "maxBalance" -> generator.setMaxBalance(Double.parseDouble(value));
+                case "hotFraction" -> hotFraction = Double.parseDouble(value);
+                case "hotShare" -> hotShare = Double.parseDouble(value);
+                case "cdTerms" -> {
+                    String[] parts = value.split(",");
+                    int[] terms = new int[parts.length];
+                    for (int i = 0; i < parts.length; i++) terms[i] = Integer.parseInt(parts[i].trim());
+                    generator.setCdTerms(terms);
+                }
+                default -> {
+                    if (!key.startsWith("weight.")) throw new IllegalArgumentException("Unknown option: " + key);
+                    generator.setTypeWeight(AccountType.valueOf(key.substring("weight.".length()).toUpperCase()),
+                            Double.parseDouble(value));
+                }
+            }
+        }
+        generator.setHotAccounts(hotFraction, hotShare);
+        int count = generator.write(accounts, activities);
+        System.out.println(count + " accounts written to " + accounts + ", activities written to " + activities + ".");
+    }
+}
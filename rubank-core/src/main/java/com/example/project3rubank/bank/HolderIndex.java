@@ -0,0 +1,222 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.util.List;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * The HolderIndex class finds account holders by the names a teller types,
+ * ignoring case. Every holder gets an id, and every 3-letter piece of their
+ * first and last name, a trigram, lists the ids of the holders whose name
+ * contains it, in ascending order. A word of the search is found in the
+ * names that have all of its trigrams, so a search intersects a few short
+ * lists instead of scanning every holder, then checks the names it found.
+ *
+ * Words of 3 letters or more match anywhere in the first or last name,
+ * "ers" finds Anderson. The names are also indexed with two leading marks,
+ * so a word of 1 or 2 letters matches the start of a name, "an" finds Anna
+ * and Anderson but not Joan. A holder matches when every word matches.
+ *
+ * A closed holder's id is only marked as removed and skipped by searches;
+ * the lists are built again without them once removed holders outnumber the
+ * others. The index is not thread-safe: AccountDatabase changes it under
+ * the write lock and searches it under the read lock.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+class HolderIndex {
+    private static final int GRAM = 3;
+    private static final char MARK = '\u0001'; // the start of a name
+    private static final int MIN_REBUILD = 1024; // the fewest removed ids worth a rebuild
+
+    private final HashMap<Profile, Integer> ids = new HashMap<>();
+    private final HashMap<Long, Postings> grams = new HashMap<>();
+    private List<Profile> profiles = new List<>(); // by id, null when removed
+    private int removed;
+
+    /**
+     * The ids of the holders whose names contain a trigram, ascending.
+     */
+    private static class Postings {
+        private int[] ids = new int[2];
+        private int size;
+
+        /**
+         * Adds an id greater than the ids listed, once.
+         *
+         * @param id the id.
+         */
+        private void add(int id) {
+            if (size > 0 && ids[size - 1] == id) return; // the trigram is in the name twice
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+
+        /**
+         * Checks if an id is listed.
+         *
+         * @param id the id.
+         * @return true if it is listed.
+         */
+        private boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+
+    /**
+     * Indexes a holder who opened their first account.
+     *
+     * @param holder the holder.
+     */
+    void add(Profile holder) {
+        if (ids.containsKey(holder)) return;
+        int id = profiles.size();
+        profiles.add(holder);
+        ids.put(holder, id);
+        index(fold(holder.getFirstName()), id);
+        index(fold(holder.getLastName()), id);
+    }
+
+    /**
+     * Drops a holder who closed their last account.
+     *
+     * @param holder the holder.
+     */
+    void remove(Profile holder) {
+        Integer id = ids.remove(holder);
+        if (id == null) return;
+        profiles.set(id, null);
+        if (++removed >= MIN_REBUILD && removed > ids.size()) rebuild();
+    }
+
+    /**
+     * Gets the number of holders indexed.
+     *
+     * @return the number of holders.
+     */
+    int size() {
+        return ids.size();
+    }
+
+    /**
+     * Finds the holders whose names match every word of a search, in the
+     * order they were indexed.
+     *
+     * @param text  the words, separated by spaces.
+     * @param limit the most holders returned.
+     * @return the holders.
+     */
+    List<Profile> find(String text, int limit) {
+        List<Profile> found = new List<>();
+        String[] words = fold(text.trim()).split("\\s+");
+        if (words[0].isEmpty() || limit <= 0) return found;
+
+        List<Postings> lists = new List<>();
+        for (String word : words) {
+            String padded = word.length() < GRAM ? String.valueOf(MARK).repeat(GRAM - word.length()) + word : word;
+            for (int i = 0; i + GRAM <= padded.length(); i++) {
+                Postings postings = grams.get(pack(padded, i));
+                if (postings == null) return found;
+                lists.add(postings);
+            }
+        }
+        Postings shortest = lists.get(0);
+        for (Postings postings : lists) {
+            if (postings.size < shortest.size) shortest = postings;
+        }
+
+        for (int i = 0; i < shortest.size && found.size() < limit; i++) {
+            int id = shortest.ids[i];
+            Profile holder = profiles.get(id);
+            if (holder == null || !inAll(lists, id) || !matches(holder, words)) continue;
+            found.add(holder);
+        }
+        return found;
+    }
+
+    /**
+     * Checks if an id is in every list.
+     *
+     * @param lists the lists.
+     * @param id    the id.
+     * @return true if every list has it.
+     */
+    private static boolean inAll(List<Postings> lists, int id) {
+        for (Postings postings : lists) {
+            if (!postings.contains(id)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks the names of a holder against every word, since the trigrams
+     * of a word can come from different places in the names.
+     *
+     * @param holder the holder.
+     * @param words  the words, case-folded.
+     * @return true if every word matches the first or last name.
+     */
+    private static boolean matches(Profile holder, String[] words) {
+        String first = fold(holder.getFirstName());
+        String last = fold(holder.getLastName());
+        for (String word : words) {
+            boolean match = word.length() < GRAM
+                    ? first.startsWith(word) || last.startsWith(word)
+                    : first.contains(word) || last.contains(word);
+            if (!match) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Lists a holder under every trigram of a name, with two marks in front
+     * so the starts of the name are indexed too.
+     *
+     * @param name the name, case-folded.
+     * @param id   the id of the holder.
+     */
+    private void index(String name, int id) {
+        String padded = String.valueOf(MARK).repeat(GRAM - 1) + name;
+        for (int i = 0; i + GRAM <= padded.length(); i++) {
+            grams.computeIfAbsent(pack(padded, i), gram -> new Postings()).add(id);
+        }
+    }
+
+    /**
+     * Builds the lists again from the holders still indexed, in the order
+     * they were indexed.
+     */
+    private void rebuild() {
+        List<Profile> kept = profiles;
+        profiles = new List<>();
+        ids.clear();
+        grams.clear();
+        removed = 0;
+        for (Profile holder : kept) {
+            if (holder != null) add(holder);
+        }
+    }
+
+    /**
+     * Packs the trigram starting at an index into a long.
+     *
+     * @param text  the text.
+     * @param index the start of the trigram.
+     * @return the three chars.
+     */
+    private static long pack(String text, int index) {
+        return (long) text.charAt(index) << 32 | (long) text.charAt(index + 1) << 16 | text.charAt(index + 2);
+    }
+
+    /**
+     * Folds the case of a name, the same in every locale.
+     *
+     * @param name the name.
+     * @return the name in lower case.
+     */
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,555 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.bank.AccountDatabase.ActivityLine;
+import com.example.project3rubank.bank.BankMetrics.Operation;
+import com.example.project3rubank.util.List;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The IngestPipeline class applies an activities file in five stages that
+ * run at the same time, each on its own threads:
+ *     - READ reads the lines of the file in batches,
+ *     - PARSE turns the lines into activities,
+ *     - VALIDATE drops activities with an invalid date, type or amount,
+ *     - ROUTE finds the account of every activity and sends it to the
+ *       APPLY thread that owns the account,
+ *     - APPLY applies the activities to the balances.
+ * The stages are connected by bounded queues, so a slow stage makes the
+ * stages before it wait instead of filling the heap. Every account belongs
+ * to one APPLY thread and the APPLY threads put the batches back in file
+ * order, so the activities of an account are applied in the same order as
+ * processActivities() applies them, whatever the thread counts.
+ *
+ *     IngestPipeline pipeline = new IngestPipeline(accountDB);
+ *     pipeline.setThreads(IngestPipeline.Stage.PARSE, 4);
+ *     pipeline.process(file);
+ *     System.out.print(pipeline.printStats());
+ *
+ * The statistics tell which stage is the bottleneck: the records and busy
+ * time of every stage, and the current and highest depth of the queue the
+ * stage reads from. A full queue in front of a stage means that stage is
+ * slower than the ones before it.
+ *
+ * Like processActivities(), process() expects no other thread to use the
+ * database while it runs. Lines that cannot be parsed or are invalid are
+ * counted and skipped, so are the activities of unknown accounts.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class IngestPipeline {
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    /**
+     * The stages of the pipeline, in order.
+     */
+    public enum Stage {
+        READ, PARSE, VALIDATE, ROUTE, APPLY
+    }
+
+    private static final Batch END = new Batch(-1, 0); // tells a stage its input is done
+
+    private final BankMetrics metrics = BankMetrics.getDefault();
+    private final AccountDatabase accountDB;
+    private final EnumMap<Stage, Integer> threads = new EnumMap<>(Stage.class);
+    private final EnumMap<Stage, StageStats> stats = new EnumMap<>(Stage.class);
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder unknown = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private long elapsed;
+
+    /**
+     * Creates a pipeline for a database, with one thread per stage except
+     * PARSE and APPLY, which get one thread per processor.
+     *
+     * @param accountDB the database the activities are applied to.
+     */
+    public IngestPipeline(AccountDatabase accountDB) {
+        this.accountDB = accountDB;
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (Stage stage : Stage.values()) {
+            threads.put(stage, 1);
+            stats.put(stage, new StageStats());
+        }
+        threads.put(Stage.PARSE, processors);
+        threads.put(Stage.APPLY, processors);
+    }
+
+    /**
+     * Sets the number of threads of a stage. READ reads one file from start
+     * to end and always has one thread.
+     *
+     * @param stage the stage.
+     * @param count the number of threads.
+     */
+    public void setThreads(Stage stage, int count) {
+        if (count < 1) throw new IllegalArgumentException("A stage needs at least one thread: " + count);
+        if (stage == Stage.READ && count != 1) throw new IllegalArgumentException("READ always has one thread.");
+        threads.put(stage, count);
+    }
+
+    /**
+     * Gets the number of threads of a stage.
+     *
+     * @param stage the stage.
+     * @return the number of threads.
+     */
+    public int getThreads(Stage stage) {
+        return threads.get(stage);
+    }
+
+    /**
+     * Sets the number of lines the stages pass on at a time.
+     *
+     * @param batchSize the number of lines per batch.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("Batch size must be at least 1: " + batchSize);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets the number of batches a queue between two stages holds.
+     *
+     * @param queueCapacity the capacity of every queue.
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) throw new IllegalArgumentException("Queue capacity must be at least 1: " + queueCapacity);
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Applies the activities in a file and waits until every one is applied.
+     *
+     * @param file the activities file.
+     * @throws IOException if the file cannot be read or a stage fails.
+     */
+    public void process(File file) throws IOException {
+        long start = System.nanoTime();
+        for (StageStats stage : stats.values()) stage.reset();
+        rejected.reset();
+        unknown.reset();
+        applied.reset();
+
+        int applyThreads = threads.get(Stage.APPLY);
+        BlockingQueue<Batch> parseQueue = queue(Stage.PARSE);
+        BlockingQueue<Batch> validateQueue = queue(Stage.VALIDATE);
+        BlockingQueue<Batch> routeQueue = queue(Stage.ROUTE);
+        @SuppressWarnings("unchecked")
+        BlockingQueue<Batch>[] applyQueues = (BlockingQueue<Batch>[]) new BlockingQueue<?>[applyThreads];
+        for (int i = 0; i < applyThreads; i++) applyQueues[i] = queue(Stage.APPLY);
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> workers = new List<>();
+        startStage(workers, failure, Stage.PARSE, parseQueue, this::parse, validateQueue);
+        startStage(workers, failure, Stage.VALIDATE, validateQueue, this::validate, routeQueue);
+        startRoute(workers, failure, routeQueue, applyQueues);
+        for (int i = 0; i < applyThreads; i++) {
+            BlockingQueue<Batch> input = applyQueues[i];
+            workers.add(Thread.ofPlatform().name("ingest-apply-" + i).start(() -> apply(input, failure)));
+        }
+
+        try {
+            read(file, parseQueue);
+        } catch (IOException | RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            try {
+                for (int i = 0; i < threads.get(Stage.PARSE); i++) parseQueue.put(END);
+                for (Thread worker : workers) worker.join();
+            } catch (InterruptedException e) {
+                for (Thread worker : workers) worker.interrupt();
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+            }
+            elapsed = System.nanoTime() - start;
+            metrics.record(Operation.PROCESS_ACTIVITIES, start);
+        }
+        Throwable cause = failure.get();
+        if (cause instanceof IOException e) throw e;
+        if (cause != null) throw new IOException("Ingestion of " + file + " failed", cause);
+    }
+
+    /**
+     * Creates the queue a stage reads from.
+     *
+     * @param stage the stage.
+     * @return the queue.
+     */
+    private BlockingQueue<Batch> queue(Stage stage) {
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(queueCapacity);
+        stats.get(stage).queues.add(queue);
+        return queue;
+    }
+
+    /**
+     * Reads the file in batches of lines, numbering the lines from 1.
+     *
+     * @param file   the activities file.
+     * @param output the queue of the PARSE stage.
+     * @throws IOException if the file cannot be read.
+     */
+    private void read(File file, BlockingQueue<Batch> output) throws IOException {
+        StageStats stage = stats.get(Stage.READ);
+        try (BufferedReader in = new BufferedReader(new FileReader(file))) {
+            long sequence = 0;
+            long position = 0;
+            while (true) {
+                long start = System.nanoTime();
+                Batch batch = new Batch(sequence++, position + 1);
+                batch.lines = new String[batchSize];
+                String line;
+                while (batch.count < batchSize && (line = in.readLine()) != null) {
+                    batch.lines[batch.count++] = line;
+                }
+                position += batch.count;
+                stage.done(batch.count, start);
+                if (batch.count == 0) return;
+                try {
+                    put(output, batch, Stage.PARSE);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for the PARSE stage", e);
+                }
+                if (batch.count < batchSize) return;
+            }
+        }
+    }
+
+    /**
+     * Parses the lines of a batch, counting the lines that cannot be parsed.
+     *
+     * @param batch the batch.
+     */
+    private void parse(Batch batch) {
+        batch.parsed = new ActivityLine[batch.count];
+        for (int i = 0; i < batch.count; i++) {
+            try {
+                batch.parsed[i] = AccountDatabase.parseActivity(batch.lines[i], batch.firstPosition + i);
+            } catch (IOException e) {
+                rejected.increment();
+            }
+        }
+        batch.lines = null;
+    }
+
+    /**
+     * Drops the activities of a batch with an invalid date, an unknown type
+     * or an amount that isn't positive.
+     *
+     * @param batch the batch.
+     */
+    private void validate(Batch batch) {
+        for (int i = 0; i < batch.count; i++) {
+            ActivityLine line = batch.parsed[i];
+            if (line == null) continue;
+            Activity activity = line.activity();
+            boolean valid = activity.getDate().isValid()
+                    && (activity.getType() == 'D' || activity.getType() == 'W')
+                    && activity.getAmount() > 0;
+            if (!valid) {
+                batch.parsed[i] = null;
+                rejected.increment();
+            }
+        }
+    }
+
+    /**
+     * Starts the threads of a stage that works on every batch in place and
+     * passes it on.
+     *
+     * @param workers the started threads.
+     * @param failure the first failure of any stage.
+     * @param stage   the stage.
+     * @param input   the queue the stage reads from.
+     * @param work    the work on one batch.
+     * @param output  the queue of the next stage.
+     */
+    private void startStage(List<Thread> workers, AtomicReference<Throwable> failure, Stage stage,
+                            BlockingQueue<Batch> input, BatchWork work, BlockingQueue<Batch> output) {
+        int count = threads.get(stage);
+        Stage next = Stage.values()[stage.ordinal() + 1];
+        AtomicInteger running = new AtomicInteger(count);
+        for (int i = 0; i < count; i++) {
+            workers.add(Thread.ofPlatform().name("ingest-" + stage.name().toLowerCase() + "-" + i).start(() -> {
+                try {
+                    Batch batch;
+                    while ((batch = input.take()) != END) {
+                        long start = System.nanoTime();
+                        try {
+                            work.run(batch);
+                        } catch (RuntimeException e) {
+                            failure.compareAndSet(null, e);
+                        }
+                        stats.get(stage).done(batch.count, start);
+                        put(output, batch, next);
+                    }
+                    if (running.decrementAndGet() == 0) {
+                        for (int j = 0; j < threads.get(next); j++) output.put(END);
+                    }
+                } catch (InterruptedException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Starts the ROUTE threads. They find the account of every activity and
+     * split each batch into one batch per APPLY thread, sending every APPLY
+     * thread its part, even an empty one, so it can keep the file order.
+     *
+     * @param workers the started threads.
+     * @param failure the first failure of any stage.
+     * @param input   the queue of the ROUTE stage.
+     * @param outputs the queues of the APPLY threads.
+     */
+    private void startRoute(List<Thread> workers, AtomicReference<Throwable> failure,
+                            BlockingQueue<Batch> input, BlockingQueue<Batch>[] outputs) {
+        int count = threads.get(Stage.ROUTE);
+        AtomicInteger running = new AtomicInteger(count);
+        StageStats stage = stats.get(Stage.ROUTE);
+        for (int i = 0; i < count; i++) {
+            workers.add(Thread.ofPlatform().name("ingest-route-" + i).start(() -> {
+                try {
+                    Batch batch;
+                    while ((batch = input.take()) != END) {
+                        long start = System.nanoTime();
+                        Batch[] parts = new Batch[outputs.length];
+                        for (int p = 0; p < parts.length; p++) {
+                            parts[p] = new Batch(batch.sequence, 0);
+                            parts[p].parsed = new ActivityLine[batch.count];
+                            parts[p].accounts = new Account[batch.count];
+                        }
+                        for (int j = 0; j < batch.count; j++) {
+                            ActivityLine line = batch.parsed[j];
+                            if (line == null) continue;
+                            Account account = accountDB.findAccount(line.number());
+                            if (account == null) {
+                                unknown.increment();
+                                continue;
+                            }
+                            Batch part = parts[Math.floorMod(line.number().hashCode(), parts.length)];
+                            part.parsed[part.count] = line;
+                            part.accounts[part.count++] = account;
+                        }
+                        stage.done(batch.count, start);
+                        for (int p = 0; p < parts.length; p++) put(outputs[p], parts[p], Stage.APPLY);
+                    }
+                    if (running.decrementAndGet() == 0) {
+                        for (BlockingQueue<Batch> output : outputs) output.put(END);
+                    }
+                } catch (InterruptedException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Applies the batches of one APPLY thread in file order. Batches that
+     * arrive early wait until the ones before them are applied.
+     *
+     * @param input   the queue of the thread.
+     * @param failure the first failure of any stage.
+     */
+    private void apply(BlockingQueue<Batch> input, AtomicReference<Throwable> failure) {
+        StageStats stage = stats.get(Stage.APPLY);
+        Map<Long, Batch> early = new HashMap<>();
+        long next = 0;
+        try {
+            Batch batch;
+            while ((batch = input.take()) != END) {
+                early.put(batch.sequence, batch);
+                while ((batch = early.remove(next)) != null) {
+                    long start = System.nanoTime();
+                    try {
+                        for (int i = 0; i < batch.count; i++) {
+                            accountDB.applyActivity(batch.accounts[i], batch.parsed[i]);
+                        }
+                        applied.add(batch.count);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                    stage.done(batch.count, start);
+                    next++;
+                }
+            }
+        } catch (InterruptedException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    /**
+     * Puts a batch on the queue of a stage, waiting while it is full, and
+     * records the depth of the queue.
+     *
+     * @param queue the queue.
+     * @param batch the batch.
+     * @param stage the stage reading the queue.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    private void put(BlockingQueue<Batch> queue, Batch batch, Stage stage) throws InterruptedException {
+        queue.put(batch);
+        stats.get(stage).depth(queue.size());
+    }
+
+    /**
+     * Gets the number of activities applied by the last process().
+     *
+     * @return the number of activities.
+     */
+    public long getApplied() {
+        return applied.sum();
+    }
+
+    /**
+     * Gets the number of lines of the last process() that could not be
+     * parsed or were invalid.
+     *
+     * @return the number of lines.
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Gets the number of activities of the last process() for accounts that
+     * are not in the database.
+     *
+     * @return the number of activities.
+     */
+    public long getUnknown() {
+        return unknown.sum();
+    }
+
+    /**
+     * Prints the statistics of the last process(): for every stage its
+     * threads, the records it handled, its busy time summed over its threads,
+     * the records per busy second, and the current and highest depth of the
+     * queue in front of it.
+     *
+     * @return the report.
+     */
+    public String printStats() {
+        StringBuilder print = new StringBuilder();
+        print.append("\n*Ingestion pipeline, ").append(elapsed / 1_000_000).append(" ms: applied[").append(getApplied())
+                .append("] rejected[").append(getRejected()).append("] unknown account[").append(getUnknown()).append("]\n");
+        for (Stage stage : Stage.values()) {
+            StageStats stat = stats.get(stage);
+            long records = stat.records.sum();
+            long busy = stat.busy.sum();
+            print.append('\t').append(stage).append(" threads[").append(threads.get(stage))
+                    .append("] records[").append(records)
+                    .append("] busy[").append(busy / 1_000_000).append(" ms] throughput[")
+                    .append(busy == 0 ? 0 : records * 1_000_000_000L / busy).append("/s]");
+            if (stage != Stage.READ) {
+                print.append(" queue[").append(stat.depth()).append(" now, ").append(stat.maxDepth.get())
+                        .append(" max of ").append(queueCapacity * stat.queues.size()).append(']');
+            }
+            print.append('\n');
+        }
+        print.append("*end of pipeline statistics.\n");
+        return print.toString();
+    }
+
+    /**
+     * The work of a stage on one batch.
+     */
+    private interface BatchWork {
+        /**
+         * Works on a batch in place.
+         *
+         * @param batch the batch.
+         */
+        void run(Batch batch);
+    }
+
+    /**
+     * Consecutive lines of the file on their way through the stages.
+     */
+    private static class Batch {
+        private final long sequence;      // the position of the batch in the file
+        private final long firstPosition; // the line number of the first line
+        private String[] lines;
+        private ActivityLine[] parsed;    // null where a line was rejected
+        private Account[] accounts;       // set by ROUTE
+        private int count;
+
+        /**
+         * Creates an empty batch.
+         *
+         * @param sequence      the position of the batch in the file.
+         * @param firstPosition the line number of the first line.
+         */
+        private Batch(long sequence, long firstPosition) {
+            this.sequence = sequence;
+            this.firstPosition = firstPosition;
+        }
+    }
+
+    /**
+     * The counters of one stage and the queues it reads from.
+     */
+    private static class StageStats {
+        private final LongAdder records = new LongAdder();
+        private final LongAdder busy = new LongAdder();
+        private final AtomicInteger maxDepth = new AtomicInteger();
+        private List<BlockingQueue<Batch>> queues = new List<>();
+
+        /**
+         * Counts a batch the stage finished.
+         *
+         * @param count the records in the batch.
+         * @param start the System.nanoTime() the stage started on the batch.
+         */
+        private void done(int count, long start) {
+            records.add(count);
+            busy.add(System.nanoTime() - start);
+        }
+
+        /**
+         * Records the depth of a queue after a batch was put on it.
+         *
+         * @param depth the depth.
+         */
+        private void depth(int depth) {
+            maxDepth.accumulateAndGet(depth, Math::max);
+        }
+
+        /**
+         * Gets the number of batches waiting in the stage's queues.
+         *
+         * @return the depth.
+         */
+        private int depth() {
+            int depth = 0;
+            for (BlockingQueue<Batch> queue : queues) depth += queue.size();
+            return depth;
+        }
+
+        /**
+         * Clears the counters and forgets the queues of an earlier run.
+         */
+        private void reset() {
+            records.reset();
+            busy.reset();
+            maxDepth.set(0);
+            queues = new List<>();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.util.List;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * The LoadReport class is the summary of a tolerant load, see
+ * AccountDatabase.loadAccounts(File, File) and processActivities(File, File).
+ * A tolerant load doesn't stop at a bad line: it copies the line unchanged to
+ * the quarantine file, records the line number, the field and the reason, and
+ * goes on with the next line. Once fixed, the quarantine file can be loaded
+ * like the original file.
+ *
+ * The first MAX_ERRORS errors are kept for the summary, the others are only
+ * counted, so a file full of bad lines doesn't fill the heap. Nothing is
+ * allocated for a good line.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class LoadReport implements Closeable {
+    public static final int MAX_ERRORS = 1000;
+
+    private final File file;
+    private final File quarantine;
+    private final List<LineError> errors = new List<>();
+    private Writer out;
+    private long lines;
+    private long loaded;
+    private long rejected;
+
+    /**
+     * Creates the report of a load. The quarantine file is created, empty,
+     * with the first bad line.
+     *
+     * @param file       the file being loaded.
+     * @param quarantine the file the bad lines are copied to, null to only report them.
+     */
+    LoadReport(File file, File quarantine) {
+        this.file = file;
+        this.quarantine = quarantine;
+        if (quarantine != null) quarantine.delete();
+    }
+
+    /**
+     * One bad line of the file.
+     *
+     * @param line   the line number, counted from 1.
+     * @param field  the field that could not be read.
+     * @param reason why it could not be read.
+     */
+    public record LineError(long line, String field, String reason) {
+
+    }
+
+    /**
+     * Counts a line read from the file.
+     *
+     * @return the line number, counted from 1.
+     */
+    long read() {
+        return ++lines;
+    }
+
+    /**
+     * Counts a line that was loaded.
+     */
+    void loaded() {
+        loaded++;
+    }
+
+    /**
+     * Records a bad line and copies it to the quarantine file.
+     *
+     * @param text   the line.
+     * @param field  the field that could not be read.
+     * @param reason why it could not be read.
+     * @throws IOException if the quarantine file cannot be written.
+     */
+    void reject(String text, String field, String reason) throws IOException {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) errors.add(new LineError(lines, field, reason));
+        if (quarantine == null) return;
+        if (out == null) out = new BufferedWriter(new FileWriter(quarantine));
+        out.write(text);
+        out.write('\n');
+    }
+
+    /**
+     * Gets the number of lines read.
+     *
+     * @return the number of lines.
+     */
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+     * Gets the number of lines loaded.
+     *
+     * @return the number of lines.
+     */
+    public long getLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Gets the number of bad lines.
+     *
+     * @return the number of lines.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Gets the first MAX_ERRORS bad lines.
+     *
+     * @return the errors, in line order.
+     */
+    public List<LineError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the file the bad lines were copied to.
+     *
+     * @return the quarantine file, null if the bad lines were only reported.
+     */
+    public File getQuarantine() {
+        return quarantine;
+    }
+
+    /**
+     * Closes the quarantine file.
+     *
+     * @throws IOException if the quarantine file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (out != null) out.close();
+    }
+
+    /**
+     * Prints the summary and the errors kept.
+     *
+     * @return the summary.
+     */
+    public String print() {
+        StringBuilder print = new StringBuilder();
+        print.append(loaded).append(" of ").append(lines).append(" lines of \"").append(file.getName()).append("\" loaded, ")
+                .append(rejected).append(" rejected");
+        if (rejected > 0 && quarantine != null) print.append(" to \"").append(quarantine.getName()).append('"');
+        print.append(rejected > 0 ? ":\n" : ".\n");
+        for (LineError error : errors) {
+            print.append("\tline ").append(error.line()).append(", ").append(error.field()).append(' ').append(error.reason()).append('\n');
+        }
+        if (rejected > errors.size()) print.append("\t... and ").append(rejected - errors.size()).append(" more.\n");
+        return print.toString();
+    }
+}
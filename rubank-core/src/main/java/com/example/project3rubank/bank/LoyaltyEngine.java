@@ -0,0 +1,119 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.util.List;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The LoyaltyEngine class keeps the loyal status of savings and money market
+ * accounts up to date as accounts are opened and closed and balances change:
+ *     - a savings account is loyal while its holder has a checking account,
+ *     - a money market account is loyal while its balance is at least
+ *       MoneyMarket.MINIMUM_FOR_LOYAL.
+ * Certificate deposit accounts keep the status they were opened with.
+ *
+ * The engine remembers, per holder, how many checking accounts they have and
+ * which savings accounts, so every event only touches the accounts of one
+ * holder. The holder's record is locked while it changes, so databases on
+ * different threads, like the shards of a ShardedAccountDatabase, can share
+ * an engine. Opening a checking account in one shard sets the status of
+ * savings accounts in others without their lock, so the status is volatile
+ * and readers of those shards see it.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class LoyaltyEngine {
+    private final ConcurrentHashMap<Profile, Holder> holders = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an engine that knows no accounts.
+     */
+    public LoyaltyEngine() {
+
+    }
+
+    /**
+     * Handles an account that was opened: a new checking account makes the
+     * holder's savings accounts loyal, a new savings account is loyal if the
+     * holder has a checking account, and a new money market account is loyal
+     * if its balance is high enough.
+     *
+     * @param account the account.
+     */
+    void opened(Account account) {
+        AccountType type = account.getNumber().getType();
+        if (type == AccountType.MONEY_MARKET) {
+            balanceChanged(account);
+        } else if (type == AccountType.CHECKING || type == AccountType.SAVINGS) {
+            while (true) {
+                Holder holder = holders.computeIfAbsent(account.getHolder(), profile -> new Holder());
+                synchronized (holder) {
+                    if (holder.removed) continue; // closed() dropped the record meanwhile
+                    if (type == AccountType.CHECKING) {
+                        if (holder.checking++ == 0) holder.setLoyal(true);
+                    } else {
+                        holder.savings.add((Savings) account);
+                        ((Savings) account).setLoyal(holder.checking > 0);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Handles an account that was closed: when the holder's last checking
+     * account is closed, their savings accounts are no longer loyal.
+     *
+     * @param account the account.
+     */
+    void closed(Account account) {
+        AccountType type = account.getNumber().getType();
+        if (type != AccountType.CHECKING && type != AccountType.SAVINGS) return;
+        Holder holder = holders.get(account.getHolder());
+        if (holder == null) return;
+        synchronized (holder) {
+            if (type == AccountType.CHECKING) {
+                if (--holder.checking == 0) holder.setLoyal(false);
+            } else {
+                holder.savings.remove((Savings) account);
+            }
+            if (holder.checking == 0 && holder.savings.isEmpty()) {
+                holder.removed = true;
+                holders.remove(account.getHolder(), holder);
+            }
+        }
+    }
+
+    /**
+     * Handles a change of an account's balance: a money market account is
+     * loyal while the balance is at least the minimum.
+     *
+     * @param account the account.
+     */
+    void balanceChanged(Account account) {
+        if (account.getNumber().getType() == AccountType.MONEY_MARKET) {
+            ((MoneyMarket) account).setLoyal(account.getBalance() >= MoneyMarket.MINIMUM_FOR_LOYAL);
+        }
+    }
+
+    /**
+     * The checking account count and savings accounts of one holder.
+     */
+    private static class Holder {
+        private int checking;
+        private boolean removed;
+        private final List<Savings> savings = new List<>();
+
+        /**
+         * Sets the loyal status of all the holder's savings accounts.
+         *
+         * @param loyal the loyal status.
+         */
+        private void setLoyal(boolean loyal) {
+            for (Savings account : savings) {
+                account.setLoyal(loyal);
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@ public class MoneyMarket extends Savings {
 	public static final double ANNUAL_INTEREST_RATE = 0.035;
 	public static final double MONTHLY_INTEREST_RATE = ANNUAL_INTEREST_RATE / 12;
 	public static final double LOYAL_MONTHLY_INTEREST_RATE = (ANNUAL_INTEREST_RATE + LOYALTY_BONUS) / 12;
+	public static final double MINIMUM_FOR_LOYAL = 5000.0;
 	private int withdrawal;
 
 	/**
@@ -39,7 +40,7 @@ public class MoneyMarket extends Savings {
 	 */
 	@Override
 	public double interest() {
-		if(isLoyal) {
+		if(isLoyal()) {
 			return balance * LOYAL_MONTHLY_INTEREST_RATE;
 		} else {
 			return balance * MONTHLY_INTEREST_RATE;
@@ -75,21 +76,24 @@ public class MoneyMarket extends Savings {
 	}
 
 	/**
-	 *  Returns the string representation of the account information
-	 *  (includes loyalty and withdrawal checks).
+	 * 	Gets the withdrawal count of the statement cycle.
 	 *
-	 * @return	Formatted string with moneymarket account details.
+	 * @return	The number of withdrawals.
 	 */
-	@Override
-	public String toString() {
-		String base = String.format("Account#[%s] Holder[%s] Balance[$%,.2f] Branch[%s]",
-				getNumber(), holder.toString(), balance, number.getBranch().name());
-
-		if(isLoyal) { base += " [LOYAL]"; }
-
-		base += String.format(" Withdrawal[%d]", withdrawal);
+	int getWithdrawals() {
+		return withdrawal;
+	}
 
-		return base;
+	/**
+	 *  Appends the loyalty status and the withdrawal count after the account
+	 *  information.
+	 *
+	 * @param out	The buffer.
+	 */
+	@Override
+	protected void appendDetails(StringBuilder out) {
+		super.appendDetails(out);
+		out.append(" Withdrawal[").append(withdrawal).append(']');
 	}
 
 }
@@ -0,0 +1,119 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.util.List;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The NumberIndex class finds the accounts whose number starts with a prefix.
+ * An account number is the branch code, the type code and a 4-digit number,
+ * so the accounts of a branch, or of one type at a branch, are the numbers
+ * starting with "200" or "20003". The 9-digit numbers are packed into ints
+ * and sorted, and the numbers starting with a prefix are the range between
+ * the prefix followed by zeros and the next prefix followed by zeros, found
+ * by binary search: a prefix scan costs O(log n + k) instead of a scan of
+ * every account.
+ *
+ * The index is a snapshot: AccountDatabase drops it when an account is
+ * opened or closed and builds it again on the next prefix scan.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+class NumberIndex {
+    private static final int DIGITS = 9;
+    private static final int PARALLEL_SORT_SIZE = 10_000;
+
+    private final int[] keys;          // the packed numbers, ascending
+    private final Account[] accounts;  // the account of every key
+
+    /**
+     * Indexes the accounts of a list. Accounts with the same number keep
+     * their list order.
+     *
+     * @param list the accounts.
+     */
+    NumberIndex(List<Account> list) {
+        long[] packed = new long[list.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = (long) pack(list.get(i).getNumber()) << 32 | i;
+        }
+        if (packed.length >= PARALLEL_SORT_SIZE) Arrays.parallelSort(packed);
+        else Arrays.sort(packed);
+        keys = new int[packed.length];
+        accounts = new Account[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            keys[i] = (int) (packed[i] >>> 32);
+            accounts[i] = list.get((int) packed[i]);
+        }
+    }
+
+    /**
+     * Packs an account number into an int.
+     *
+     * @param number the account number.
+     * @return the 9 digits as an int.
+     */
+    static int pack(AccountNumber number) {
+        return Integer.parseInt(number.toString());
+    }
+
+    /**
+     * Gets the accounts whose number starts with a prefix, in number order.
+     *
+     * @param prefix up to 9 digits, empty for every account.
+     * @return the accounts, none if the prefix is not digits.
+     */
+    Stream<Account> startingWith(String prefix) {
+        int[] range = range(prefix);
+        return IntStream.range(range[0], range[1]).mapToObj(i -> accounts[i]);
+    }
+
+    /**
+     * Counts the accounts whose number starts with a prefix.
+     *
+     * @param prefix up to 9 digits.
+     * @return the number of accounts.
+     */
+    int count(String prefix) {
+        int[] range = range(prefix);
+        return range[1] - range[0];
+    }
+
+    /**
+     * Finds the range of the keys starting with a prefix.
+     *
+     * @param prefix up to 9 digits.
+     * @return the first index of the range and the index after it.
+     */
+    private int[] range(String prefix) {
+        if (prefix.length() > DIGITS) return new int[2];
+        long low = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            char digit = prefix.charAt(i);
+            if (digit < '0' || digit > '9') return new int[2];
+            low = low * 10 + (digit - '0');
+        }
+        long scale = 1;
+        for (int i = prefix.length(); i < DIGITS; i++) scale *= 10;
+        return new int[] {lowerBound(low * scale), lowerBound((low + 1) * scale)};
+    }
+
+    /**
+     * Finds the first key at least a value.
+     *
+     * @param value the value.
+     * @return the index of the first key at least the value, the number of keys if there is none.
+     */
+    private int lowerBound(long value) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] < value) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+}
@@ -2,6 +2,8 @@ package com.example.project3rubank.bank;
 
 import com.example.project3rubank.util.Date;
 
+import java.util.Objects;
+
 /**
  * The profile class represents a user profile with first name, last name and
  * date of birth.
@@ -105,6 +107,34 @@ public class Profile implements Comparable<Profile>{
 
     }
 
+    /**
+     * hashCode() method: Returns a hash code consistent with equals(), which
+     * ignores the case of the names the way equalsIgnoreCase() does, in
+     * every locale.
+     *
+     * @return the hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(caseHash(fname), caseHash(lname), dob);
+    }
+
+    /**
+     * Hashes a name ignoring case. Every char is folded like
+     * equalsIgnoreCase() compares it, upper case then lower case, so names
+     * equal ignoring case hash the same without creating a String.
+     *
+     * @param name the name.
+     * @return the hash of the folded name.
+     */
+    private static int caseHash(String name) {
+        int hash = 0;
+        for (int i = 0; i < name.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        }
+        return hash;
+    }
+
     /**
      * toString() method: Returns a string represenation of the Profile object
      *
@@ -116,4 +146,15 @@ public class Profile implements Comparable<Profile>{
         return fname + " " + lname + " " + dob.toString();
     }
 
+    /**
+     * Appends the same text as toString() to a buffer, without creating a
+     * String.
+     *
+     * @param out the buffer.
+     * @return the buffer.
+     */
+    public StringBuilder appendTo(StringBuilder out) {
+        return dob.appendTo(out.append(fname).append(' ').append(lname).append(' '));
+    }
+
 }
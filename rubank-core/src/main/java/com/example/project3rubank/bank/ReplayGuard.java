@@ -0,0 +1,183 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.util.Date;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * The ReplayGuard class remembers which records of the activities files were
+ * already applied, so a feed that is delivered twice is only applied once.
+ * A record is identified by a 64-bit key computed from its account number,
+ * date, location, type, amount and line number in the file, see key(). Two
+ * identical transactions on different lines of a feed are two records; the
+ * same line delivered again is a replay and is skipped.
+ *
+ * The keys are kept in an open-addressing hash table of longs, 16 bytes per
+ * record at most, and saved to and loaded from a file with the database.
+ * Two different records only share a key by chance: among 10 million
+ * records, the odds that any two do are about 3 in a million.
+ *
+ *     ReplayGuard guard = ReplayGuard.load(new File("seen.bin"));
+ *     accountDB.setReplayGuard(guard);
+ *     accountDB.processActivities(feed);
+ *     guard.save(new File("seen.bin"));
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class ReplayGuard {
+    private static final int MAGIC = 0x52504731; // "RPG1"
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long EMPTY = 0;
+    private static final long ZERO_KEY = 1; // key 0 marks an empty slot, it is stored as 1
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int size;
+    private long replayed;
+
+    /**
+     * Creates a guard that has seen no records.
+     */
+    public ReplayGuard() {
+
+    }
+
+    /**
+     * Loads a guard saved with save().
+     *
+     * @param file the file.
+     * @return the guard, empty if the file doesn't exist.
+     * @throws IOException if the file cannot be read or is not a saved guard.
+     */
+    public static ReplayGuard load(File file) throws IOException {
+        ReplayGuard guard = new ReplayGuard();
+        if (!file.exists()) return guard;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException(file + " is not a replay guard file.");
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) guard.add(in.readLong());
+        }
+        return guard;
+    }
+
+    /**
+     * Saves the keys of the records seen so far. The file is written next to
+     * the old one and then moved over it, so a crash leaves the old file.
+     *
+     * @param file the file.
+     * @throws IOException if the file cannot be written.
+     */
+    public synchronized void save(File file) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(size);
+            for (long key : keys) {
+                if (key != EMPTY) out.writeLong(key);
+            }
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Gets the number of records seen.
+     *
+     * @return the number of keys.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of records skipped because they were seen before.
+     *
+     * @return the number of replayed records.
+     */
+    public synchronized long getReplayed() {
+        return replayed;
+    }
+
+    /**
+     * Checks a record and remembers it.
+     *
+     * @param key the key of the record, see key().
+     * @return true the first time the key is seen, false for a replay.
+     */
+    synchronized boolean firstSeen(long key) {
+        if (add(key)) return true;
+        replayed++;
+        return false;
+    }
+
+    /**
+     * Adds a key to the table, doubling it when it is half full.
+     *
+     * @param key the key.
+     * @return true if the key was added, false if it was already there.
+     */
+    private boolean add(long key) {
+        if (key == EMPTY) key = ZERO_KEY;
+        int mask = keys.length - 1;
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) return false;
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size * 2 > keys.length) grow();
+        return true;
+    }
+
+    /**
+     * Doubles the table and adds the keys again.
+     */
+    private void grow() {
+        long[] old = keys;
+        keys = new long[old.length * 2];
+        size = 0;
+        for (long key : old) {
+            if (key != EMPTY) add(key);
+        }
+    }
+
+    /**
+     * Computes the key of a record of an activities file.
+     *
+     * @param number   the account number.
+     * @param activity the activity.
+     * @param position the line number of the record in the file.
+     * @return the key.
+     */
+    static long key(String number, Activity activity, long position) {
+        long hash = 0xcbf29ce484222325L; // FNV-1a over the account number
+        for (int i = 0; i < number.length(); i++) {
+            hash = (hash ^ number.charAt(i)) * 0x100000001b3L;
+        }
+        Date date = activity.getDate();
+        hash = mix(hash, date.getYear() * 10000L + date.getMonth() * 100L + date.getDay());
+        hash = mix(hash, activity.getLocation() == null ? -1 : activity.getLocation().ordinal());
+        hash = mix(hash, activity.getType());
+        hash = mix(hash, Double.doubleToLongBits(activity.getAmount()));
+        return mix(hash, position);
+    }
+
+    /**
+     * Mixes a value into a hash.
+     *
+     * @param hash  the hash so far.
+     * @param value the value.
+     * @return the new hash.
+     */
+    private static long mix(long hash, long value) {
+        hash = (hash ^ value) * 0x9e3779b97f4a7c15L;
+        return hash ^ (hash >>> 31);
+    }
+}
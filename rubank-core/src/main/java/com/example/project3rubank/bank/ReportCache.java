@@ -0,0 +1,139 @@
+package com.example.project3rubank.bank;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * The ReportCache class keeps rendered reports, or sections of reports,
+ * with the version of the data they were rendered from. A cached text is
+ * returned while the version it was rendered from is still current; a newer
+ * version replaces it. AccountDatabase keys whole reports by the version of
+ * the database and the sections of a report, like the accounts of one branch,
+ * by the version of that section, so a deposit only renders its section again.
+ *
+ * The cache holds at most a number of characters. When it is full the least
+ * recently used texts are dropped, and a text longer than the whole cache is
+ * not kept. The methods are synchronized, so threads holding the read lock of
+ * the database can print at the same time; rendering is done by the caller,
+ * outside the cache.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class ReportCache {
+    public static final long DEFAULT_CHARS = 64L << 20; // 128 MB of text
+
+    private final long capacity;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long chars; // the characters of the cached texts
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a cache of DEFAULT_CHARS characters.
+     */
+    public ReportCache() {
+        this(DEFAULT_CHARS);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param capacity the most characters the cached texts hold together.
+     */
+    public ReportCache(long capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        this.capacity = capacity;
+    }
+
+    /**
+     * The report and section a text is cached under.
+     *
+     * @param report  the report, 'B' for branch, 'H' for holder, 'T' for type or 'A' for archive.
+     * @param section the section of the report, -1 for the whole report.
+     */
+    record Key(char report, int section) {
+
+    }
+
+    /**
+     * A cached text and the version it was rendered from.
+     *
+     * @param version the version.
+     * @param text    the text.
+     */
+    private record Entry(long version, String text) {
+
+    }
+
+    /**
+     * Gets a cached text.
+     *
+     * @param key     the report and section.
+     * @param version the current version of the data.
+     * @return the text, null if it is not cached or was rendered from another version.
+     */
+    synchronized String get(Key key, long version) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.version() != version) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.text();
+    }
+
+    /**
+     * Caches a text, replacing the text cached under the same key.
+     *
+     * @param key     the report and section.
+     * @param version the version of the data the text was rendered from.
+     * @param text    the text.
+     */
+    synchronized void put(Key key, long version, String text) {
+        Entry old = entries.remove(key);
+        if (old != null) chars -= old.text().length();
+        if (text.length() > capacity) return;
+        entries.put(key, new Entry(version, text));
+        chars += text.length();
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (chars > capacity) {
+            chars -= eldest.next().text().length();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Drops every cached text.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        chars = 0;
+    }
+
+    /**
+     * Gets the number of characters cached.
+     *
+     * @return the characters of the cached texts.
+     */
+    public synchronized long getChars() {
+        return chars;
+    }
+
+    /**
+     * Gets the number of lookups that found a current text.
+     *
+     * @return the number of hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups that had to render.
+     *
+     * @return the number of misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
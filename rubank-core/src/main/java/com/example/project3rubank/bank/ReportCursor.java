@@ -0,0 +1,196 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.util.List;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * The ReportCursor class reads a report of the database one row at a time,
+ * for views that only show the rows in sight, like a list in the teller
+ * window. The rows are the lines of printByBranch(), printByType() or
+ * printByHolder() without the blank lines: the title, the county or account
+ * type headers, one row per account and the end of the list.
+ *
+ * The cursor keeps the sorted view of the database it was created from and
+ * where its headers are, a few ints per county or type, and prints rows a
+ * page at a time when they are asked for. The most recently read pages are
+ * kept until the database changes, so scrolling back and forth doesn't print
+ * them again. Memory is bounded by the pages kept, not by the number of
+ * accounts.
+ *
+ * Balances and statuses are read when a page is printed, so a cursor shows
+ * deposits and withdrawals made after it was created. Accounts opened or
+ * closed after it was created are not in its rows, see isCurrent().
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class ReportCursor {
+    public static final int DEFAULT_PAGE = 256;
+    public static final int DEFAULT_PAGES = 8;
+
+    private final AccountDatabase database;
+    private final char key;
+    private final List<Account> view;  // the accounts in report order
+    private final String title;
+    private final int[] headerRows;    // the row of every header
+    private final int[] headerStarts;  // the first account under every header
+    private final String[] headers;
+    private final int rows;
+    private final int pageSize;
+    private final LinkedHashMap<Integer, String[]> pages;
+    private long version; // the version of the database the pages were printed from
+
+    /**
+     * Creates a cursor over a report of the database. The caller holds the
+     * read lock of the database, see AccountDatabase.cursor().
+     *
+     * @param database the database.
+     * @param key      'B' for branch, 'H' for holder or 'T' for type, as in Sort.account().
+     * @param pageSize the number of rows printed at a time.
+     * @param cached   the number of pages kept.
+     */
+    ReportCursor(AccountDatabase database, char key, int pageSize, int cached) {
+        if (pageSize < 1) throw new IllegalArgumentException("Page size must be at least 1: " + pageSize);
+        if (cached < 1) throw new IllegalArgumentException("Pages kept must be at least 1: " + cached);
+        this.database = database;
+        this.key = key;
+        this.view = database.ordered(key);
+        this.pageSize = pageSize;
+        this.version = database.getVersion();
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, String[]> eldest) {
+                return size() > cached;
+            }
+        };
+
+        Comparator<Account> section = switch (key) {
+            case 'B' -> Comparator.comparing(account -> account.getNumber().getBranch().getCounty());
+            case 'T' -> Comparator.comparing(account -> account.getNumber().getType());
+            case 'H' -> null;
+            default -> throw new IllegalArgumentException("Unknown report: " + key);
+        };
+        this.title = switch (key) {
+            case 'B' -> "*List of accounts ordered by branch location (county, city).";
+            case 'T' -> "*List of accounts ordered by account type and number.";
+            default -> "*List of accounts ordered by account holder and number.";
+        };
+        List<int[]> sections = new List<>(); // the first account of every section
+        if (section != null) {
+            for (int i = 0; i < view.size(); i = AccountDatabase.runEnd(view, i, section)) {
+                sections.add(new int[] {i});
+            }
+        }
+        headerRows = new int[sections.size()];
+        headerStarts = new int[sections.size()];
+        headers = new String[sections.size()];
+        for (int k = 0; k < sections.size(); k++) {
+            Account first = view.get(sections.get(k)[0]);
+            headerStarts[k] = sections.get(k)[0];
+            headerRows[k] = 1 + headerStarts[k] + k;
+            headers[k] = key == 'B'
+                    ? "County: " + first.getNumber().getBranch().getCounty()
+                    : "Account Type: " + first.getNumber().getType();
+        }
+        rows = view.isEmpty() ? 1 : view.size() + headers.length + 2;
+    }
+
+    /**
+     * Gets the report the cursor reads.
+     *
+     * @return 'B' for branch, 'H' for holder or 'T' for type.
+     */
+    public char getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the number of rows of the report.
+     *
+     * @return the number of rows.
+     */
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * Tells whether the rows are still the accounts of the database, that is
+     * no account was opened or closed since the cursor was created. A cursor
+     * that is not current still reads the accounts it was created with.
+     *
+     * @return true if the rows are current.
+     */
+    public boolean isCurrent() {
+        return database.isView(key, view);
+    }
+
+    /**
+     * Gets a row of the report, printing its page if it is not kept.
+     *
+     * @param row the row, from 0 to size() - 1.
+     * @return the text of the row.
+     */
+    public synchronized String get(int row) {
+        if (row < 0 || row >= rows) throw new IndexOutOfBoundsException("Row " + row + " of " + rows);
+        if (database.getVersion() != version) {
+            pages.clear();
+            version = database.getVersion();
+        }
+        String[] page = pages.get(row / pageSize);
+        if (page == null) {
+            page = print(row / pageSize);
+            pages.put(row / pageSize, page);
+        }
+        return page[row % pageSize];
+    }
+
+    /**
+     * Prints a page of rows under the read lock of the database.
+     *
+     * @param page the page.
+     * @return the rows of the page.
+     */
+    private String[] print(int page) {
+        int from = page * pageSize;
+        String[] printed = new String[Math.min(pageSize, rows - from)];
+        Lock read = database.getLock().readLock();
+        read.lock();
+        try {
+            StringBuilder out = new StringBuilder();
+            for (int i = 0; i < printed.length; i++) {
+                out.setLength(0);
+                printed[i] = printRow(from + i, out);
+            }
+        } finally {
+            read.unlock();
+        }
+        return printed;
+    }
+
+    /**
+     * Prints one row.
+     *
+     * @param row the row.
+     * @param out a buffer to print the account to.
+     * @return the text of the row.
+     */
+    private String printRow(int row, StringBuilder out) {
+        if (view.isEmpty()) return "Account database is empty!";
+        if (row == 0) return title;
+        if (row == rows - 1) return "*end of list.";
+        if (headers.length == 0) return view.get(row - 1).appendTo(out).toString();
+
+        int low = 0;
+        int high = headerRows.length - 1;
+        while (low < high) { // the last header at or before the row
+            int middle = (low + high + 1) >>> 1;
+            if (headerRows[middle] <= row) low = middle;
+            else high = middle - 1;
+        }
+        if (headerRows[low] == row) return headers[low];
+        return view.get(headerStarts[low] + row - headerRows[low] - 1).appendTo(out).toString();
+    }
+}
@@ -14,7 +14,7 @@ public class Savings extends Account {
 	public static final double LOYALTY_BONUS = 0.0025;
 	public static final double MONTHLY_INTEREST_RATE = ANNUAL_INTEREST_RATE / 12;
 	public static final double LOYAL_MONTHLY_INTEREST_RATE = (ANNUAL_INTEREST_RATE + LOYALTY_BONUS) / 12;
-	public boolean isLoyal;
+	private volatile boolean loyal; // set by the loyalty engine from the shard of a checking account
 
 	/**
 	 * 	Constructor for a savings account with specified account number,
@@ -27,7 +27,7 @@ public class Savings extends Account {
 	 */
 	public Savings(AccountNumber number, Profile holder, double balance, boolean isLoyal) {
 		super(number, holder, balance);
-		this.isLoyal = isLoyal;
+		this.loyal = isLoyal;
 	}
 
 	/**
@@ -36,7 +36,16 @@ public class Savings extends Account {
 	 * @param loyal		Loyalty status for the account.
 	 */
 	public void setLoyal(boolean loyal) {
-		isLoyal = loyal;
+		this.loyal = loyal;
+	}
+
+	/**
+	 *	Gets the loyalty status of the account.
+	 *
+	 * @return	true if the account holder is a loyal customer.
+	 */
+	public boolean isLoyal() {
+		return loyal;
 	}
 
 	/**
@@ -46,7 +55,7 @@ public class Savings extends Account {
 	 */
 	@Override
 	public double interest() {
-		if(isLoyal) {
+		if(loyal) {
 			return balance * LOYAL_MONTHLY_INTEREST_RATE;
 		} else {
 			return balance * MONTHLY_INTEREST_RATE;
@@ -69,20 +78,14 @@ public class Savings extends Account {
 
 
 	/**
-	 * 	Returns a string representation of the savings account information
-	 * 	(including loyalty status).
+	 * 	Appends the loyalty status after the savings account information.
 	 *
-	 * @return	Formatted string with savings account details.
+	 * @param out	The buffer.
 	 */
 	@Override
-	public String toString() {
-		String base = String.format("Account#[%s] Holder[%s] Balance[$%,.2f] Branch[%s]",
-				getNumber(), holder.toString(), balance, number.getBranch().name());
-
-		if (isLoyal) {
-			base += " [LOYAL]";
+	protected void appendDetails(StringBuilder out) {
+		if (loyal) {
+			out.append(" [LOYAL]");
 		}
-
-		return base;
 	}
 }
@@ -0,0 +1,624 @@
+package com.example.project3rubank.bank;
+
+import com.example.project3rubank.bank.AccountDatabase.ActivityLine;
+import com.example.project3rubank.bank.BankMetrics.Operation;
+import com.example.project3rubank.util.Date;
+import com.example.project3rubank.util.List;
+import com.example.project3rubank.util.Sort;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Scanner;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * The ShardedAccountDatabase class partitions the accounts by branch: every
+ * branch is a shard with its own AccountDatabase, so its own number index,
+ * read-write lock and sorted views. The shards share one archive, one set
+ * of running totals and one loyalty engine.
+ *
+ * Unlike AccountDatabase, the methods do their own locking and are safe to
+ * call from any thread. Opening, closing and balance changes lock only the
+ * shard of the account, so writes to different branches never contend.
+ * Reports are built for every shard in parallel and merged in the order of
+ * the whole database, the text is the same an AccountDatabase holding the
+ * same accounts prints. No method holds two shard locks at once.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class ShardedAccountDatabase {
+    private static final Branch[] BRANCH_ORDER = branchOrder();
+
+    private final BankMetrics metrics = BankMetrics.getDefault();
+    private final Archive archive = new Archive();
+    private final BankTotals totals = new BankTotals();
+    private final LoyaltyEngine loyalty = new LoyaltyEngine();
+    private final AccountDatabase[] shards = new AccountDatabase[Branch.values().length];
+
+    /**
+     * Creates an empty database with one shard per branch.
+     */
+    public ShardedAccountDatabase() {
+        for (Branch branch : Branch.values()) {
+            shards[branch.ordinal()] = new AccountDatabase(archive, totals, loyalty);
+        }
+    }
+
+    /**
+     * Sorts the branches in the order printByBranch() lists them, by county
+     * and then branch name.
+     *
+     * @return the branches in report order.
+     */
+    private static Branch[] branchOrder() {
+        Branch[] order = Branch.values();
+        Arrays.sort(order, Comparator.comparing(Branch::getCounty).thenComparing(Branch::name));
+        return order;
+    }
+
+    /**
+     * Gets the shard holding the accounts of a branch. Code that uses it
+     * directly follows the locking rules of AccountDatabase.
+     *
+     * @param branch the branch.
+     * @return the shard.
+     */
+    public AccountDatabase getShard(Branch branch) {
+        return shards[branch.ordinal()];
+    }
+
+    /**
+     * Keeps the older activities of the accounts of every shard in one
+     * history, see AccountDatabase.setHistory().
+     *
+     * @param history the history.
+     */
+    public void setHistory(ActivityHistory history) {
+        for (AccountDatabase shard : shards) {
+            locked(shard.getLock().writeLock(), () -> {
+                shard.setHistory(history);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Skips the records of activities files that were applied before, see
+     * AccountDatabase.setReplayGuard(). The shards share the guard.
+     *
+     * @param replayGuard the records applied so far, null to apply every record.
+     */
+    public void setReplayGuard(ReplayGuard replayGuard) {
+        for (AccountDatabase shard : shards) {
+            locked(shard.getLock().writeLock(), () -> {
+                shard.setReplayGuard(replayGuard);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Gets the archive the shards move closed accounts to.
+     *
+     * @return the archive.
+     */
+    public Archive getArchive() {
+        return archive;
+    }
+
+    /**
+     * Gets the running totals of the accounts of all the shards.
+     *
+     * @return the totals.
+     */
+    public BankTotals getTotals() {
+        return totals;
+    }
+
+    /**
+     * Gets the number of open accounts in all the shards.
+     *
+     * @return the number of accounts.
+     */
+    public int size() {
+        int size = 0;
+        for (AccountDatabase shard : shards) {
+            size += locked(shard.getLock().readLock(), shard::size);
+        }
+        return size;
+    }
+
+    /**
+     * Opens an account in the shard of its branch.
+     *
+     * @param account the account to add.
+     */
+    public void add(Account account) {
+        AccountDatabase shard = getShard(account.getNumber().getBranch());
+        locked(shard.getLock().writeLock(), () -> {
+            shard.add(account);
+            return null;
+        });
+    }
+
+    /**
+     * Finds the account with the given 9-digit account number.
+     *
+     * @param number the account number as a string.
+     * @return the account, null if no account has the number.
+     */
+    public Account findAccount(String number) {
+        AccountDatabase shard = shardOf(number);
+        if (shard == null) return null;
+        return locked(shard.getLock().readLock(), () -> shard.findAccount(number));
+    }
+
+    /**
+     * Finds the shard of an account number by its 3-digit branch code.
+     *
+     * @param number the account number.
+     * @return the shard, null if no branch has the code.
+     */
+    private AccountDatabase shardOf(String number) {
+        if (number.length() < 3) return null;
+        for (Branch branch : Branch.values()) {
+            if (number.startsWith(branch.getBranchCode())) return getShard(branch);
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the holder has a checking account in any branch.
+     *
+     * @param profile the holder.
+     * @return true if the holder has a checking account, false otherwise.
+     */
+    public boolean hasChecking(Profile profile) {
+        for (AccountDatabase shard : shards) {
+            if (locked(shard.getLock().readLock(), () -> shard.hasChecking(profile))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Finds the holders whose names match what a teller typed, see
+     * AccountDatabase.findHolders(). A holder with accounts in several
+     * branches is found once; the holders come shard by shard.
+     *
+     * @param text  the words.
+     * @param limit the most holders returned.
+     * @return the holders.
+     */
+    public List<Profile> findHolders(String text, int limit) {
+        List<Profile> found = new List<>();
+        for (Branch branch : BRANCH_ORDER) {
+            AccountDatabase shard = getShard(branch);
+            for (Profile holder : locked(shard.getLock().readLock(), () -> shard.findHolders(text, limit))) {
+                if (found.size() < limit && !found.contains(holder)) found.add(holder);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds the account in any branch that keeps a holder from opening
+     * another account of the same type.
+     *
+     * @param profile the holder.
+     * @param type    the account type.
+     * @param term    the term for CD accounts.
+     * @return the account if there's a duplicate, null otherwise.
+     */
+    public Account findDuplicateAccount(Profile profile, AccountType type, int term) {
+        for (AccountDatabase shard : shards) {
+            Account account = locked(shard.getLock().readLock(), () -> shard.findDuplicateAccount(profile, type, term));
+            if (account != null) return account;
+        }
+        return null;
+    }
+
+    /**
+     * Deposits at the teller, see AccountDatabase.deposit(Account, double, Date).
+     *
+     * @param account the account to deposit to.
+     * @param amount  the amount of money to deposit.
+     * @param date    the date of the deposit.
+     */
+    public void deposit(Account account, double amount, Date date) {
+        AccountDatabase shard = getShard(account.getNumber().getBranch());
+        locked(shard.getLock().readLock(), () -> {
+            synchronized (account) {
+                shard.deposit(account, amount, date);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Withdraws at the teller, see AccountDatabase.withdraw(Account, double, Date).
+     *
+     * @param account the account to withdraw from.
+     * @param amount  the amount of money to withdraw.
+     * @param date    the date of the withdrawal.
+     * @return true if the amount was withdrawn, false if the balance is too low.
+     */
+    public boolean withdraw(Account account, double amount, Date date) {
+        AccountDatabase shard = getShard(account.getNumber().getBranch());
+        return locked(shard.getLock().readLock(), () -> {
+            synchronized (account) {
+                return shard.withdraw(account, amount, date);
+            }
+        });
+    }
+
+    /**
+     * Closes an account, see AccountDatabase.closeAccount().
+     *
+     * @param account the account to close.
+     * @param close   the closing date.
+     * @return the closing summary.
+     */
+    public String closeAccount(Account account, Date close) {
+        AccountDatabase shard = getShard(account.getNumber().getBranch());
+        return locked(shard.getLock().writeLock(), () -> shard.closeAccount(account, close));
+    }
+
+    /**
+     * Closes all the accounts of a holder, branch by branch in report order.
+     * The caller checks isClosedBeforeOpening() for the holder's accounts first.
+     *
+     * @param holder the holder whose accounts are closed.
+     * @param close  the closing date.
+     * @return the closing summary, null if the holder has no accounts.
+     */
+    public String closeAccounts(Profile holder, Date close) {
+        StringBuilder closed = new StringBuilder();
+        for (Branch branch : BRANCH_ORDER) {
+            AccountDatabase shard = getShard(branch);
+            closed.append(locked(shard.getLock().writeLock(), () -> shard.closeHolderAccounts(holder, close)));
+        }
+        if (closed.isEmpty()) return null;
+        return "Closing accounts for " + holder.getFirstName() + " " + holder.getLastName() + " " + holder.getDateOfBirth() + "\n"
+                + closed
+                + "All accounts for " + holder.getFirstName() + " " + holder.getLastName()
+                + " " + holder.getDateOfBirth() + " are closed and moved to archive." + "\n";
+    }
+
+    /**
+     * Loads the accounts file: the lines are parsed in file order, so the
+     * accounts get the numbers AccountDatabase.loadAccounts() would give
+     * them, then every shard adds its accounts in parallel. The shared
+     * loyalty engine sees every branch, so a savings account is loyal when
+     * the holder has a checking account in any branch.
+     *
+     * @param file the text file used to parse the accounts.
+     * @throws IOException if the file cannot be read or a line cannot be parsed.
+     */
+    public void loadAccounts(File file) throws IOException {
+        long start = System.nanoTime();
+        try {
+            List<Account>[] loaded = newBuckets();
+            Scanner scanner = new Scanner(file);
+            try {
+                while (scanner.hasNextLine()) {
+                    Account account = AccountDatabase.parseAccount(scanner.nextLine());
+                    if (account != null) loaded[account.getNumber().getBranch().ordinal()].add(account);
+                }
+            } finally {
+                scanner.close();
+            }
+
+            eachShard(shard -> locked(shard.getLock().writeLock(), () -> {
+                for (Account account : loaded[indexOf(shard)]) {
+                    shard.add(account);
+                }
+                return null;
+            }), Object[]::new);
+        } finally {
+            metrics.record(Operation.LOAD_ACCOUNTS, start);
+        }
+    }
+
+    /**
+     * Processes the activities file: every line is parsed first, then each
+     * shard applies the activities of its accounts in parallel, in file order.
+     * Activities of unknown accounts are skipped.
+     *
+     * @param file the file with the transaction records.
+     * @throws IOException if the file cannot be read or a line cannot be parsed.
+     */
+    public void processActivities(File file) throws IOException {
+        long start = System.nanoTime();
+        try {
+            List<ActivityLine>[] lines = newBuckets();
+            Scanner scanner = new Scanner(file);
+            long position = 0;
+            try {
+                while (scanner.hasNextLine()) {
+                    ActivityLine line = AccountDatabase.parseActivity(scanner.nextLine(), ++position);
+                    AccountDatabase shard = shardOf(line.number());
+                    if (shard != null) lines[indexOf(shard)].add(line);
+                }
+            } finally {
+                scanner.close();
+            }
+
+            eachShard(shard -> locked(shard.getLock().writeLock(), () -> {
+                for (ActivityLine line : lines[indexOf(shard)]) {
+                    Account account = shard.findAccount(line.number());
+                    if (account != null) shard.applyActivity(account, line);
+                }
+                return null;
+            }), Object[]::new);
+        } finally {
+            metrics.record(Operation.PROCESS_ACTIVITIES, start);
+        }
+    }
+
+    /**
+     * Prints the accounts by county and branch, see AccountDatabase.printByBranch().
+     * Every shard prints its accounts in parallel, the county headers are
+     * added when the shards are joined.
+     *
+     * @return the report.
+     */
+    public String printByBranch() {
+        long start = System.nanoTime();
+        String[] printed = eachShard(shard -> locked(shard.getLock().readLock(), () -> {
+            StringBuilder print = new StringBuilder();
+            for (int i = 0; i < shard.size(); i++) {
+                shard.get(i).appendTo(print).append("\n");
+            }
+            return print.toString();
+        }), String[]::new);
+
+        StringBuilder print = new StringBuilder();
+        String currCounty = "";
+        for (Branch branch : BRANCH_ORDER) {
+            String shardPrint = printed[branch.ordinal()];
+            if (shardPrint.isEmpty()) continue;
+            if (print.isEmpty()) print.append("\n*List of accounts ordered by branch location (county, city).");
+            if (!branch.getCounty().equals(currCounty)) {
+                print.append("\nCounty: ").append(branch.getCounty()).append("\n");
+                currCounty = branch.getCounty();
+            }
+            print.append(shardPrint);
+        }
+        if (print.isEmpty()) print.append("Account database is empty!");
+        else print.append("\n").append("*end of list.");
+
+        metrics.record(Operation.PRINT_BY_BRANCH, start);
+        return print.toString();
+    }
+
+    /**
+     * Prints the accounts by holder and number, see AccountDatabase.printByHolder().
+     *
+     * @return the report.
+     */
+    public String printByHolder() {
+        long start = System.nanoTime();
+        Printed[] printed = eachShard(shard -> locked(shard.getLock().readLock(), () -> new Printed(shard.ordered('H'), Account::appendTo)), Printed[]::new);
+
+        StringBuilder print = new StringBuilder();
+        merge(printed, Sort.BY_HOLDER, (shard, i) -> shard.appendTo(print, i).append("\n"));
+        if (print.isEmpty()) {
+            print.append("Account database is empty!");
+        } else {
+            print.insert(0, "\n*List of accounts ordered by account holder and number.\n");
+            print.append("\n").append("*end of list.\n");
+        }
+
+        metrics.record(Operation.PRINT_BY_HOLDER, start);
+        return print.toString();
+    }
+
+    /**
+     * Prints the accounts by type and number, see AccountDatabase.printByType().
+     *
+     * @return the report.
+     */
+    public String printByType() {
+        long start = System.nanoTime();
+        Printed[] printed = eachShard(shard -> locked(shard.getLock().readLock(), () -> new Printed(shard.ordered('T'), Account::appendTo)), Printed[]::new);
+
+        StringBuilder print = new StringBuilder();
+        AccountType[] currType = new AccountType[1];
+        merge(printed, Sort.BY_TYPE, (shard, i) -> {
+            AccountType type = shard.accounts[i].getNumber().getType();
+            if (type != currType[0]) {
+                print.append("\nAccount Type: ").append(type).append("\n");
+                currType[0] = type;
+            }
+            shard.appendTo(print, i).append("\n");
+        });
+        if (print.isEmpty()) {
+            print.append("Account database is empty!");
+        } else {
+            print.insert(0, "\n*List of accounts ordered by account type and number.");
+            print.append("\n").append("*end of list.\n");
+        }
+
+        metrics.record(Operation.PRINT_BY_TYPE, start);
+        return print.toString();
+    }
+
+    /**
+     * Prints the statements by holder, applying the monthly interest and
+     * fees, see AccountDatabase.printStatements(). Every shard computes the
+     * statements of its accounts in parallel, the holders are numbered when
+     * the shards are merged.
+     *
+     * @return the statements.
+     */
+    public String printStatements() {
+        long start = System.nanoTime();
+        Printed[] printed = eachShard(shard -> locked(shard.getLock().writeLock(), () -> new Printed(shard.ordered('H'), shard::statement)), Printed[]::new);
+
+        StringBuilder print = new StringBuilder();
+        print.append("*Account statements by account holder.").append("\n");
+        Profile[] prevProfile = new Profile[1];
+        int[] count = new int[1];
+        merge(printed, Sort.BY_HOLDER, (shard, i) -> {
+            Account account = shard.accounts[i];
+            Profile profile = account.getHolder();
+            if (prevProfile[0] == null || !prevProfile[0].equals(profile)) {
+                count[0]++;
+                print.append("\n").append(count[0]).append(". ").append(profile.getFirstName()).append(" ").append(profile.getLastName()).append(" ");
+                profile.getDateOfBirth().appendTo(print).append("\n");
+            }
+            print.append("\t[Account#] ").append(account.getNumber()).append("\n");
+            shard.appendTo(print, i);
+            prevProfile[0] = profile;
+        });
+        print.append("\n*end of statements.");
+
+        metrics.record(Operation.PRINT_STATEMENTS, start);
+        return print.toString();
+    }
+
+    /**
+     * Prints the closed accounts of all the shards.
+     *
+     * @return the report.
+     */
+    public String printArchive() {
+        long start = System.nanoTime();
+        String print = archive.print();
+        metrics.record(Operation.PRINT_ARCHIVE, start);
+        return print;
+    }
+
+    /**
+     * Runs a task on every shard in parallel.
+     *
+     * @param task  the task.
+     * @param array creates the array of results.
+     * @return the results, indexed by the ordinal of the shard's branch.
+     */
+    private <T> T[] eachShard(Function<AccountDatabase, T> task, IntFunction<T[]> array) {
+        return Arrays.stream(shards).parallel().map(task).toArray(array);
+    }
+
+    /**
+     * Gets the position of a shard in the shard array.
+     *
+     * @param shard the shard.
+     * @return the ordinal of the shard's branch.
+     */
+    private int indexOf(AccountDatabase shard) {
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[i] == shard) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Creates one empty list per shard.
+     *
+     * @return the lists, indexed by the ordinal of the branch.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> List<E>[] newBuckets() {
+        List<E>[] buckets = (List<E>[]) new List<?>[Branch.values().length];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new List<>();
+        }
+        return buckets;
+    }
+
+    /**
+     * Visits the accounts of all the shards in the order of the comparator.
+     * The shards are each sorted already, so this is a k-way merge. Account
+     * numbers start with the branch code, so no two shards hold equal accounts.
+     *
+     * @param printed the sorted accounts of every shard.
+     * @param order   the order the shards are sorted in.
+     * @param visitor called with the shard and position of every account in order.
+     */
+    private static void merge(Printed[] printed, Comparator<Account> order, Visitor visitor) {
+        int[] next = new int[printed.length];
+        while (true) {
+            int min = -1;
+            for (int s = 0; s < printed.length; s++) {
+                if (next[s] == printed[s].accounts.length) continue;
+                if (min < 0 || order.compare(printed[s].accounts[next[s]], printed[min].accounts[next[min]]) < 0) min = s;
+            }
+            if (min < 0) return;
+            visitor.visit(printed[min], next[min]++);
+        }
+    }
+
+    /**
+     * Runs a task while holding a lock.
+     *
+     * @param lock the lock.
+     * @param task the task.
+     * @return the result of the task.
+     */
+    private static <T> T locked(Lock lock, Supplier<T> task) {
+        lock.lock();
+        try {
+            return task.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The sorted accounts of one shard and the text printed for each. The
+     * texts are printed one after the other into a single buffer, each
+     * account remembers where its text ends.
+     */
+    private static class Printed {
+        private final Account[] accounts;
+        private final StringBuilder text = new StringBuilder();
+        private final int[] ends;
+
+        /**
+         * Prints the accounts of a sorted view.
+         *
+         * @param view    the sorted accounts.
+         * @param printer prints one account into the buffer.
+         */
+        Printed(List<Account> view, BiConsumer<Account, StringBuilder> printer) {
+            this.accounts = new Account[view.size()];
+            this.ends = new int[view.size()];
+            for (int i = 0; i < accounts.length; i++) {
+                accounts[i] = view.get(i);
+                printer.accept(accounts[i], text);
+                ends[i] = text.length();
+            }
+        }
+
+        /**
+         * Appends the text printed for one account.
+         *
+         * @param out   the buffer.
+         * @param index the position of the account.
+         * @return the buffer.
+         */
+        StringBuilder appendTo(StringBuilder out, int index) {
+            return out.append(text, index == 0 ? 0 : ends[index - 1], ends[index]);
+        }
+    }
+
+    /**
+     * Receives the accounts of a merge in order.
+     */
+    private interface Visitor {
+        /**
+         * Visits one account.
+         *
+         * @param printed the shard of the account.
+         * @param index   the position of the account in the shard.
+         */
+        void visit(Printed printed, int index);
+    }
+}
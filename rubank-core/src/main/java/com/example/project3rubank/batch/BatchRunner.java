@@ -0,0 +1,415 @@
+package com.example.project3rubank.batch;
+
+import com.example.project3rubank.bank.Account;
+import com.example.project3rubank.bank.AccountDatabase;
+import com.example.project3rubank.bank.AccountExporter;
+import com.example.project3rubank.bank.ActivityHistory;
+import com.example.project3rubank.bank.ActivityTailer;
+import com.example.project3rubank.bank.IngestPipeline;
+import com.example.project3rubank.bank.Profile;
+import com.example.project3rubank.bank.ReplayGuard;
+import com.example.project3rubank.util.Date;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * The BatchRunner class is the headless entry point of the bank, for server
+ * and cron pipelines. It runs the options given on the command line in
+ * order against one database and writes the reports as text, the same text
+ * the JavaFX application shows. It lives in rubank-core, so JavaFX is not on
+ * the module path. Run it with a small heap, for example:
+ *
+ *     java -Xmx64m -XX:TieredStopAtLevel=1 -p rubank-core/target/rubank-core-1.0-SNAPSHOT.jar
+ *          -m com.example.project3rubank.core/com.example.project3rubank.batch.BatchRunner
+ *          --accounts=accounts.txt --activities=activities.txt --close=200017410,2/28/2025
+ *          --month-end --report=archive --out=report.txt
+ *
+ * Options:
+ *     --accounts=FILE                    load the accounts in FILE
+ *     --activities=FILE                  apply the activities in FILE and print them
+ *     --ingest=FILE                      apply the activities in FILE through the staged pipeline and
+ *                                        print its queue depths and stage throughput
+ *     --ingest-threads=STAGE:N,...       set the threads of pipeline stages, e.g. parse:4,apply:2
+ *     --close=NUMBER,MM/DD/YYYY          close one account on the given date
+ *     --close-holder=FIRST,LAST,DOB,DATE close every account of a holder, both dates MM/DD/YYYY
+ *     --month-end                        print the statements, applying the monthly interest and fees
+ *     --report=branch|type|holder|archive|statements|totals
+ *     --export-csv=DIR                   write every open and closed account to DIR/accounts.csv and
+ *                                        their activities to DIR/activities.csv
+ *     --export-columns=DIR               write every open and closed account as one binary file per column
+ *     --history=DIR                      keep only recent activities in memory, spill older ones to DIR
+ *     --replay-guard=FILE                skip activity records applied before, FILE keeps them between runs
+ *     --tail=DIR,OFFSETS                 apply the lines appended to the files in DIR until the process
+ *                                        is stopped, OFFSETS keeps how far every file was applied
+ *     --quarantine=DIR                   load the accounts and activities files that follow tolerantly:
+ *                                        bad lines are skipped, copied to DIR/NAME.rejected and reported
+ *     --out=FILE                         write the output of the options that follow to FILE
+ *
+ * The exit status is 0 on success, 1 for a bad option and 2 when a file
+ * cannot be read or written.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class BatchRunner {
+    private final AccountDatabase accountDB;
+    private Writer out;
+    private boolean ownsOut; // out was opened by --out, not given to the constructor
+    private ActivityHistory history;
+    private File replayFile;
+    private IngestPipeline pipeline;
+    private File quarantine; // null to stop at the first bad line
+
+    /**
+     * Creates a runner with an empty database writing to the given output.
+     *
+     * @param out the output the reports are written to.
+     */
+    public BatchRunner(Writer out) {
+        this.accountDB = new AccountDatabase();
+        this.out = out;
+    }
+
+    /**
+     * Gets the database the runner works on.
+     *
+     * @return the database.
+     */
+    public AccountDatabase getDatabase() {
+        return accountDB;
+    }
+
+    /**
+     * Runs the options in order.
+     *
+     * @param args the options.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public void run(String[] args) throws IOException {
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            String option = split < 0 ? arg : arg.substring(0, split);
+            String value = split < 0 ? "" : arg.substring(split + 1);
+
+            switch (option) {
+                case "--accounts" -> accounts(new File(value));
+                case "--activities" -> activities(new File(value));
+                case "--ingest" -> ingest(new File(value));
+                case "--ingest-threads" -> ingestThreads(value);
+                case "--close" -> close(value);
+                case "--close-holder" -> closeHolder(value);
+                case "--month-end" -> write(accountDB.printStatements() + "\n");
+                case "--report" -> report(value);
+                case "--tail" -> tail(value);
+                case "--export-csv", "--export-columns" -> export(option, new File(value));
+                case "--replay-guard" -> {
+                    replayFile = new File(value);
+                    accountDB.setReplayGuard(ReplayGuard.load(replayFile));
+                }
+                case "--quarantine" -> {
+                    quarantine = new File(value);
+                    if (!quarantine.isDirectory() && !quarantine.mkdirs()) {
+                        throw new IOException("Cannot create the quarantine directory " + quarantine);
+                    }
+                }
+                case "--history" -> {
+                    if (history != null) throw new IllegalArgumentException("Only one --history can be given: " + arg);
+                    history = new ActivityHistory(new File(value));
+                    accountDB.setHistory(history);
+                }
+                case "--out" -> {
+                    closeOut();
+                    out = new BufferedWriter(new FileWriter(value));
+                    ownsOut = true;
+                }
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Loads the accounts in a file. With a quarantine directory, the bad
+     * lines are skipped and reported.
+     *
+     * @param file the accounts file.
+     * @throws IOException if a file cannot be read or written.
+     */
+    private void accounts(File file) throws IOException {
+        if (quarantine == null) {
+            accountDB.loadAccounts(file);
+            write("Accounts in " + file.getName() + " loaded to the database.\n");
+        } else {
+            write("Accounts in " + file.getName() + " loaded to the database.\n"
+                    + accountDB.loadAccounts(file, rejected(file)).print());
+        }
+    }
+
+    /**
+     * Gets the quarantine file of an input file.
+     *
+     * @param file the input file.
+     * @return the file its bad lines are copied to.
+     */
+    private File rejected(File file) {
+        return new File(quarantine, file.getName() + ".rejected");
+    }
+
+    /**
+     * Applies and prints the activities in a file. With a replay guard, the
+     * records applied before are skipped and the guard is saved. With a
+     * quarantine directory, the bad lines are skipped and reported.
+     *
+     * @param file the activities file.
+     * @throws IOException if a file cannot be read or written.
+     */
+    private void activities(File file) throws IOException {
+        ReplayGuard guard = accountDB.getReplayGuard();
+        long replayed = guard == null ? 0 : guard.getReplayed();
+        write(quarantine == null ? accountDB.printActivities(file) : accountDB.printActivities(file, rejected(file)));
+        if (guard != null) {
+            guard.save(replayFile);
+            long skipped = guard.getReplayed() - replayed;
+            if (skipped > 0) write(skipped + " activities applied before were skipped.\n");
+        }
+    }
+
+    /**
+     * Applies the activities in a file through the staged pipeline and
+     * prints its statistics. With a replay guard, the guard is saved.
+     *
+     * @param file the activities file.
+     * @throws IOException if a file cannot be read or written.
+     */
+    private void ingest(File file) throws IOException {
+        pipeline().process(file);
+        if (accountDB.getReplayGuard() != null) accountDB.getReplayGuard().save(replayFile);
+        write("Activities in " + file.getName() + " applied." + pipeline.printStats());
+    }
+
+    /**
+     * Sets the threads of pipeline stages, the value is STAGE:N,... with the
+     * stages read, parse, validate, route and apply.
+     *
+     * @param value the stages and thread counts.
+     */
+    private void ingestThreads(String value) {
+        for (String stage : value.split(",")) {
+            String[] parts = split(stage, ":", 2);
+            try {
+                pipeline().setThreads(IngestPipeline.Stage.valueOf(parts[0].toUpperCase()), Integer.parseInt(parts[1]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Expected a thread count: " + stage);
+            }
+        }
+    }
+
+    /**
+     * Gets the ingestion pipeline, creating it the first time.
+     *
+     * @return the pipeline.
+     */
+    private IngestPipeline pipeline() {
+        if (pipeline == null) pipeline = new IngestPipeline(accountDB);
+        return pipeline;
+    }
+
+    /**
+     * Exports every open and closed account, writing the columns or the two
+     * CSV files in parallel.
+     *
+     * @param option    --export-csv or --export-columns.
+     * @param directory the directory the files are written to.
+     * @throws IOException if a file cannot be written.
+     */
+    private void export(String option, File directory) throws IOException {
+        AccountExporter exporter = new AccountExporter(accountDB);
+        exporter.setParallel(true);
+        long count;
+        if (option.equals("--export-csv")) {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Cannot create the export directory " + directory);
+            }
+            count = exporter.exportCsv(new File(directory, "accounts.csv"), new File(directory, "activities.csv"));
+        } else {
+            count = exporter.exportColumns(directory);
+        }
+        write(count + " accounts exported to " + directory + ".\n");
+    }
+
+    /**
+     * Applies the lines appended to the activities files in a directory
+     * until the process is stopped, the value is DIR,OFFSETS. With a replay
+     * guard, the guard is saved after every batch with the offsets.
+     *
+     * @param value the directory and the offsets file.
+     * @throws IOException if the directory cannot be watched or a file cannot be read.
+     */
+    private void tail(String value) throws IOException {
+        String[] parts = split(value, 2);
+        write("Tailing the activities files in " + parts[0] + "...\n");
+        out.flush();
+        try (ActivityTailer tailer = new ActivityTailer(accountDB, new File(parts[0]), new File(parts[1]))) {
+            tailer.setGuardFile(replayFile);
+            tailer.run();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Closes one account, the value is NUMBER,MM/DD/YYYY.
+     *
+     * @param value the account number and closing date.
+     * @throws IOException if the output cannot be written.
+     */
+    private void close(String value) throws IOException {
+        String[] parts = split(value, 2);
+        Date close = parseDate(parts[1]);
+        Account account = accountDB.findAccount(parts[0]);
+        if (account == null) {
+            write(parts[0] + " account does not exist.\n");
+        } else if (AccountDatabase.isClosedBeforeOpening(account, close)) {
+            write("Closing date is earlier than the opening date of the Certificate Deposit account " + parts[0] + ".\n");
+        } else {
+            write(accountDB.closeAccount(account, close));
+        }
+    }
+
+    /**
+     * Closes every account of a holder, the value is FIRST,LAST,DOB,DATE.
+     *
+     * @param value the holder and closing date.
+     * @throws IOException if the output cannot be written.
+     */
+    private void closeHolder(String value) throws IOException {
+        String[] parts = split(value, 4);
+        Profile holder = new Profile(parts[0], parts[1], parseDate(parts[2]));
+        Date close = parseDate(parts[3]);
+        for (Account account : accountDB.getHolderAccounts(holder)) {
+            if (AccountDatabase.isClosedBeforeOpening(account, close)) {
+                write("Closing date is earlier than the opening date of the Certificate Deposit account " + account.getNumber() + ".\n");
+                return;
+            }
+        }
+        String print = accountDB.closeAccounts(holder, close);
+        write(print != null ? print : holder + " does not have any accounts in the database.\n");
+    }
+
+    /**
+     * Writes one of the reports.
+     *
+     * @param kind the report, branch, type, holder, archive, statements or totals.
+     * @throws IOException if the output cannot be written.
+     */
+    private void report(String kind) throws IOException {
+        String print = switch (kind) {
+            case "branch" -> accountDB.printByBranch();
+            case "type" -> accountDB.printByType();
+            case "holder" -> accountDB.printByHolder();
+            case "archive" -> accountDB.printArchive();
+            case "statements" -> accountDB.printStatements();
+            case "totals" -> accountDB.getTotals().print();
+            default -> throw new IllegalArgumentException("Unknown report: " + kind);
+        };
+        write(print + "\n");
+    }
+
+    /**
+     * Writes text to the current output.
+     *
+     * @param text the text.
+     * @throws IOException if the output cannot be written.
+     */
+    private void write(String text) throws IOException {
+        out.write(text);
+    }
+
+    /**
+     * Splits a comma separated option value into the expected number of parts.
+     *
+     * @param value the option value.
+     * @param parts the number of parts.
+     * @return the parts, trimmed.
+     */
+    private static String[] split(String value, int parts) {
+        return split(value, ",", parts);
+    }
+
+    /**
+     * Splits an option value into the expected number of parts.
+     *
+     * @param value     the option value.
+     * @param separator the separator of the parts.
+     * @param parts     the number of parts.
+     * @return the parts, trimmed.
+     */
+    private static String[] split(String value, String separator, int parts) {
+        String[] split = value.split(separator);
+        if (split.length != parts) {
+            throw new IllegalArgumentException("Expected " + parts + " " + separator + " separated values: " + value);
+        }
+        for (int i = 0; i < split.length; i++) split[i] = split[i].trim();
+        return split;
+    }
+
+    /**
+     * Parses a date in the MM/DD/YYYY format used by the input files.
+     *
+     * @param text the date.
+     * @return the date.
+     */
+    private static Date parseDate(String text) {
+        String[] parts = text.split("/");
+        if (parts.length != 3) throw new IllegalArgumentException("Expected a MM/DD/YYYY date: " + text);
+        Date date = new Date(parts[2] + "-" + parts[0] + "-" + parts[1]);
+        if (!date.isValid()) throw new IllegalArgumentException(text + " is not a valid calendar date.");
+        return date;
+    }
+
+    /**
+     * Closes the output if it was opened by --out, and flushes it otherwise,
+     * since the output given to the constructor belongs to the caller.
+     *
+     * @throws IOException if the output cannot be written.
+     */
+    private void closeOut() throws IOException {
+        if (ownsOut) out.close();
+        else out.flush();
+    }
+
+    /**
+     * Runs the bank headless. The output of the options that ran is written
+     * out even when a later option fails.
+     *
+     * @param args the options, see the class documentation.
+     */
+    public static void main(String[] args) {
+        BatchRunner runner = new BatchRunner(new BufferedWriter(new OutputStreamWriter(System.out)));
+        int status = 0;
+        try {
+            runner.run(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            status = 1;
+        } catch (IOException e) {
+            System.err.println("I/O error: " + e.getMessage());
+            status = 2;
+        } finally {
+            try {
+                runner.closeOut();
+                runner.out.close();
+                if (runner.history != null) runner.history.close();
+            } catch (IOException e) {
+                System.err.println("I/O error: " + e.getMessage());
+                if (status == 0) status = 2;
+            }
+        }
+        if (status != 0) System.exit(status);
+    }
+}
@@ -133,6 +133,15 @@ public class Date implements Comparable<Date> {
         return false;
     }
 
+    /**
+     * This method returns a hash code consistent with equals(), based on the year, month and day
+     * @return returns the hash code
+     */
+    @Override
+    public int hashCode() {
+        return (year * 12 + month) * 31 + day;
+    }
+
     /**
      * This method compares the year, month, and day to the other year, month and day.
      * @param o the object to be compared.
@@ -158,4 +167,13 @@ public class Date implements Comparable<Date> {
         return month + "/" + day + "/" + year;
     }
 
+    /**
+     * Appends the date in the same format as toString(), without creating a String
+     * @param out the buffer to append to
+     * @return returns the buffer
+     */
+    public StringBuilder appendTo(StringBuilder out) {
+        return out.append(month).append('/').append(day).append('/').append(year);
+    }
+
 }
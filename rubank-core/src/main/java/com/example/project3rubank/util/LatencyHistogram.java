@@ -0,0 +1,131 @@
+package com.example.project3rubank.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class records latencies into log-linear buckets: every power of two
+ * is split into 8 buckets, so a percentile is off by at most 12.5%.
+ * Recording is lock-free and does not allocate, it costs one atomic
+ * increment per bucket plus the total, so it can sit on the hottest paths.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class LatencyHistogram implements LatencyHistogramMBean {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Creates a histogram with no latencies recorded.
+     */
+    public LatencyHistogram() {
+
+    }
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos the latency in nanoseconds, negative values count as 0.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets.incrementAndGet(bucket(nanos));
+        total.add(nanos);
+        long current = max.get();
+        while (nanos > current && !max.compareAndSet(current, nanos)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Returns the bucket a latency falls in, values below 8 get a bucket each.
+     *
+     * @param nanos the latency.
+     * @return the bucket index.
+     */
+    private static int bucket(long nanos) {
+        if (nanos < SUB_BUCKETS) return (int) nanos;
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Returns the middle of the range of values that fall in a bucket.
+     *
+     * @param bucket the bucket index.
+     * @return the representative value of the bucket.
+     */
+    private static long value(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) >> 1);
+    }
+
+    /**
+     * Returns the latency below which the given fraction of the recorded
+     * values fall.
+     *
+     * @param fraction the percentile as a fraction, for example 0.99.
+     * @return the percentile in nanoseconds, 0 if nothing was recorded.
+     */
+    public long percentile(double fraction) {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(value(i), max.get());
+        }
+        return max.get();
+    }
+
+    @Override
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    @Override
+    public double getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0.0 : (double) total.sum() / count;
+    }
+
+    @Override
+    public long getP50Nanos() { return percentile(0.50); }
+
+    @Override
+    public long getP99Nanos() { return percentile(0.99); }
+
+    @Override
+    public long getP999Nanos() { return percentile(0.999); }
+
+    @Override
+    public long getMaxNanos() { return max.get(); }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        total.reset();
+        max.set(0);
+    }
+}
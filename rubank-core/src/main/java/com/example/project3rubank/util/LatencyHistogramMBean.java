@@ -0,0 +1,57 @@
+package com.example.project3rubank.util;
+
+/**
+ * The JMX management interface of a LatencyHistogram. All latencies are in
+ * nanoseconds.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public interface LatencyHistogramMBean {
+
+    /**
+     * Gets the number of recorded operations.
+     *
+     * @return the count.
+     */
+    long getCount();
+
+    /**
+     * Gets the mean latency.
+     *
+     * @return the mean in nanoseconds.
+     */
+    double getMeanNanos();
+
+    /**
+     * Gets the median latency.
+     *
+     * @return the 50th percentile in nanoseconds.
+     */
+    long getP50Nanos();
+
+    /**
+     * Gets the 99th percentile latency.
+     *
+     * @return the 99th percentile in nanoseconds.
+     */
+    long getP99Nanos();
+
+    /**
+     * Gets the 99.9th percentile latency.
+     *
+     * @return the 99.9th percentile in nanoseconds.
+     */
+    long getP999Nanos();
+
+    /**
+     * Gets the largest recorded latency.
+     *
+     * @return the maximum in nanoseconds.
+     */
+    long getMaxNanos();
+
+    /**
+     * Clears all the recorded values.
+     */
+    void reset();
+}
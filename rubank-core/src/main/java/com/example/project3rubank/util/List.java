@@ -38,10 +38,11 @@ public class List<E> implements Iterable<E> {
 	}
 
 	/**
-	 * Method that increases the size of the accounts array by four once it reaches its capacity
+	 * Method that doubles the size of the accounts array once it reaches its capacity,
+	 * so adding n objects copies O(n) of them in total
 	 */
 	private void grow() {
-		E[] newAccount = (E[]) new Object[objects.length + ARRAY_SIZE];
+		E[] newAccount = (E[]) new Object[objects.length * 2];
 
 		for (int i = 0; i < size; i++) {
 			newAccount[i] = objects[i];
@@ -0,0 +1,136 @@
+package com.example.project3rubank.util;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * The Money class appends amounts of money to a StringBuilder without
+ * creating a Formatter, a DecimalFormat or an intermediate String, so a
+ * report of a million accounts doesn't create millions of objects just to
+ * print the balances. Three formats are supported, each printing exactly the
+ * same text as the code it replaces:
+ *     - append() prints like String.format("%,.2f", amount), which rounds
+ *       the shortest decimal form of the amount half up,
+ *     - appendDollars() prints like new DecimalFormat("$#,##0.00"), which
+ *       rounds the exact binary value of the amount half even,
+ *     - appendPlain() prints like String.format(Locale.ROOT, "%.2f", amount),
+ *       without grouping, for files read by other programs.
+ * append() and appendPlain() round alike and only differ from appendDollars()
+ * for amounts half a cent away from two roundings. Those
+ * amounts, negative amounts, amounts of a billion or more and every amount
+ * in a locale that doesn't group with ',' and separate cents with '.' are
+ * printed by the JDK formatter, so the text is always the same as before.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class Money {
+    private static final boolean US_SYMBOLS = usSymbols();
+    private static final double MAX_FAST = 1e9;
+    private static final double TIE_MARGIN = 1e-4; // far above the rounding error of amount * 100 below MAX_FAST
+
+    /**
+     * No instances, the methods are static.
+     */
+    private Money() {
+
+    }
+
+    /**
+     * Checks if the default locale prints numbers like the hand-rolled format.
+     *
+     * @return true if the grouping separator is ',' and the decimal separator '.'.
+     */
+    private static boolean usSymbols() {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance();
+        return symbols.getGroupingSeparator() == ',' && symbols.getDecimalSeparator() == '.'
+                && symbols.getZeroDigit() == '0';
+    }
+
+    /**
+     * Appends an amount like String.format("%,.2f", amount), e.g. 1,234.50.
+     *
+     * @param out    the buffer.
+     * @param amount the amount.
+     * @return the buffer.
+     */
+    public static StringBuilder append(StringBuilder out, double amount) {
+        long cents = cents(amount);
+        if (cents < 0) return out.append(String.format("%,.2f", amount));
+        return appendCents(out, cents);
+    }
+
+    /**
+     * Appends an amount like new DecimalFormat("$#,##0.00"), e.g. $1,234.50.
+     *
+     * @param out    the buffer.
+     * @param amount the amount.
+     * @return the buffer.
+     */
+    public static StringBuilder appendDollars(StringBuilder out, double amount) {
+        long cents = cents(amount);
+        if (cents < 0) return out.append(new DecimalFormat("$#,##0.00").format(amount));
+        return appendCents(out.append('$'), cents);
+    }
+
+    /**
+     * Appends an amount like String.format(Locale.ROOT, "%.2f", amount), e.g. 1234.50.
+     *
+     * @param out    the buffer.
+     * @param amount the amount.
+     * @return the buffer.
+     */
+    public static StringBuilder appendPlain(StringBuilder out, double amount) {
+        long cents = cents(amount);
+        if (cents < 0) return out.append(String.format(Locale.ROOT, "%.2f", amount));
+        int rest = (int) (cents % 100);
+        return out.append(cents / 100).append('.').append((char) ('0' + rest / 10)).append((char) ('0' + rest % 10));
+    }
+
+    /**
+     * Rounds an amount to whole cents when every rounding mode agrees.
+     *
+     * @param amount the amount.
+     * @return the number of cents, -1 if the JDK formatter has to print the amount.
+     */
+    private static long cents(double amount) {
+        if (!US_SYMBOLS || !(amount >= 0 && amount < MAX_FAST) || Double.doubleToRawLongBits(amount) < 0) return -1;
+        double scaled = amount * 100;
+        long cents = (long) scaled;
+        double fraction = scaled - cents;
+        if (Math.abs(fraction - 0.5) < TIE_MARGIN) return -1;
+        return fraction > 0.5 ? cents + 1 : cents;
+    }
+
+    /**
+     * Appends a number of cents as dollars with grouped thousands.
+     *
+     * @param out   the buffer.
+     * @param cents the number of cents.
+     * @return the buffer.
+     */
+    private static StringBuilder appendCents(StringBuilder out, long cents) {
+        appendGrouped(out, cents / 100);
+        int rest = (int) (cents % 100);
+        return out.append('.').append((char) ('0' + rest / 10)).append((char) ('0' + rest % 10));
+    }
+
+    /**
+     * Appends a whole number with a ',' between every group of three digits.
+     *
+     * @param out   the buffer.
+     * @param whole the number.
+     */
+    private static void appendGrouped(StringBuilder out, long whole) {
+        if (whole < 1000) {
+            out.append(whole);
+            return;
+        }
+        appendGrouped(out, whole / 1000);
+        int group = (int) (whole % 1000);
+        out.append(',');
+        if (group < 100) out.append('0');
+        if (group < 10) out.append('0');
+        out.append(group);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.project3rubank.util;
+
+import com.example.project3rubank.bank.Account;
+import com.example.project3rubank.bank.Branch;
+import com.example.project3rubank.bank.Profile;
+
+import java.util.Comparator;
+
+/**
+ * This class is used to sort the accounts
+ */
+public class Sort {
+
+	/**
+	 * Orders accounts by county, then branch name. Accounts of the same
+	 * branch keep their order. (handles the PB command).
+	 */
+	public static final Comparator<Account> BY_BRANCH = (a, b) -> {
+		Branch first = a.getNumber().getBranch();
+		Branch second = b.getNumber().getBranch();
+		int countyComparison = first.getCounty().compareTo(second.getCounty());
+		return countyComparison != 0 ? countyComparison : first.name().compareTo(second.name());
+	};
+
+	/**
+	 * Orders accounts by profile in order of last name, first name and date
+	 * of birth ignoring case, then by the exact last and first name, date of
+	 * birth and account number.
+	 */
+	public static final Comparator<Account> BY_HOLDER = (a, b) -> {
+		Profile first = a.getHolder();
+		Profile second = b.getHolder();
+		int comparison = first.compareTo(second);
+		if (comparison == 0) comparison = first.getLastName().compareTo(second.getLastName());
+		if (comparison == 0) comparison = first.getFirstName().compareTo(second.getFirstName());
+		if (comparison == 0) comparison = first.getDateOfBirth().compareTo(second.getDateOfBirth());
+		if (comparison == 0) comparison = a.getNumber().compareTo(b.getNumber());
+		return comparison;
+	};
+
+	/**
+	 * Orders accounts by account type, then account number.
+	 */
+	public static final Comparator<Account> BY_TYPE = (a, b) -> {
+		int comparison = a.getNumber().getType().compareTo(b.getNumber().getType());
+		return comparison != 0 ? comparison : a.getNumber().compareTo(b.getNumber());
+	};
+
+	/**
+	 * Orders accounts by account number.
+	 */
+	public static final Comparator<Account> BY_NUMBER = (a, b) -> a.getNumber().compareTo(b.getNumber());
+
+	/**
+	 * No instances, the methods are static.
+	 */
+	private Sort() {
+
+	}
+
+	/**
+	 * Gets the order of a sort key.
+	 *
+	 * @param key 'B' for branch, 'H' for holder or 'T' for type.
+	 * @return the comparator, null for an unknown key.
+	 */
+	public static Comparator<Account> comparator(char key) {
+		if (key == 'B') return BY_BRANCH;
+		else if (key == 'H') return BY_HOLDER;
+		else if (key == 'T') return BY_TYPE;
+		return null;
+	}
+
+	/**
+	 * Sorts the list with a stable merge sort, equal accounts keep their
+	 * order. Runs are merged bottom-up between the list and one buffer, so a
+	 * sort costs O(n log n) comparisons instead of the O(n^2) of a bubble sort.
+	 *
+	 * @param accounts the list to sort.
+	 * @param order    the order to sort in.
+	 */
+	public static void sort(List<Account> accounts, Comparator<Account> order) {
+		int n = accounts.size();
+		Account[] source = new Account[n];
+		Account[] target = new Account[n];
+		for (int i = 0; i < n; i++) {
+			source[i] = accounts.get(i);
+		}
+		for (int width = 1; width < n; width *= 2) {
+			for (int low = 0; low < n; low += 2 * width) {
+				int middle = Math.min(low + width, n);
+				int high = Math.min(low + 2 * width, n);
+				int i = low, j = middle, k = low;
+				while (i < middle && j < high) {
+					target[k++] = order.compare(source[j], source[i]) < 0 ? source[j++] : source[i++];
+				}
+				while (i < middle) target[k++] = source[i++];
+				while (j < high) target[k++] = source[j++];
+			}
+			Account[] swap = source;
+			source = target;
+			target = swap;
+		}
+		for (int i = 0; i < n; i++) {
+			accounts.set(i, source[i]);
+		}
+	}
+
+	/**
+	 * This method sets the key, where based off the key it does the specific sorting
+	 * @param list the list to sort
+	 * @param key the key (char) to use when calling the sort
+	 */
+	public static void account(List<Account> list, char key) {
+		Comparator<Account> order = comparator(key);
+		if (order != null) { sort(list, order); }
+	}
+}
@@ -0,0 +1,7 @@
+module com.example.project3rubank.core {
+	requires transitive java.management;
+
+	exports com.example.project3rubank.bank;
+	exports com.example.project3rubank.util;
+	exports com.example.project3rubank.batch;
+}
@@ -1,8 +1,8 @@
 package com.example.project3rubank;
 
 import com.example.project3rubank.bank.*;
-import com.example.project3rubank.util.List;
 import javafx.animation.*;
+import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -12,13 +12,15 @@ import com.example.project3rubank.util.Date;
 import javafx.scene.layout.*;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.geometry.Side;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import javafx.util.Duration;
+
+import javax.management.JMException;
 import java.io.File;
 import java.io.IOException;
-import java.util.Scanner;
-import java.util.StringTokenizer;
+import java.time.LocalDate;
 
 
 /**
@@ -27,9 +29,12 @@ import java.util.StringTokenizer;
  * @author Natalia Peguero, Olivia Kamau
  */
 public class Controller {
-	private static final double MONEY_MARKET_MINIMUM_FOR_LOYAL = 5000.0;
 	private static final double MONEY_MARKET_MINIMUM = 2000.0;
+	private static final double REPORT_ROW_HEIGHT = 24.0;
+	private static final int NUMBER_SUGGESTIONS = 10;
+	private static final int HOLDER_SUGGESTIONS = 10;
 	private AccountDatabase accountDB;
+	private boolean fillingHolder; // a suggested holder is being filled in
 
 	@FXML
 	private Button loadAccountsButton, loadActivitiesButton, deposit, withdraw, printByBranchButton, printByTypeButton, printByHolderButton, printStatementsButton, printArchiveButton;
@@ -51,6 +56,8 @@ public class Controller {
 	private CheckBox loyalCustomerCheckBox;
 	@FXML
 	private TextArea outputTextArea;
+	@FXML
+	private ListView<String> reportListView;
 
 	/**
 	 * This method disables the UI elements depending on the account type.
@@ -147,6 +154,134 @@ public class Controller {
 
 		closeDate.getEditor().setDisable(true);
 
+		reportListView.setFixedCellSize(REPORT_ROW_HEIGHT);
+
+		setUpTypeAhead(accountNumber);
+
+		setUpHolderSearch();
+
+	}
+
+	/**
+	 * Suggests the holders whose names match what was typed in the first and
+	 * last name fields of Close By Profile, ignoring case, see
+	 * AccountDatabase.findHolders(). Picking a suggestion fills in the names
+	 * and the date of birth.
+	 */
+	private void setUpHolderSearch() {
+		ContextMenu suggestions = new ContextMenu();
+		ChangeListener<String> search = (observable, oldValue, newValue) -> {
+			if (fillingHolder) return;
+			String text = (closeFName.getText().trim() + " " + closeLName.getText().trim()).trim();
+			suggestions.getItems().clear();
+			if (!text.isEmpty()) {
+				for (Profile holder : accountDB.findHolders(text, HOLDER_SUGGESTIONS)) {
+					int accounts = accountDB.getHolderAccounts(holder).size();
+					MenuItem item = new MenuItem(holder.getFirstName() + " " + holder.getLastName() + " " + holder.getDateOfBirth()
+							+ " (" + accounts + (accounts == 1 ? " account)" : " accounts)"));
+					item.setMnemonicParsing(false);
+					item.setOnAction(e -> fillHolder(holder));
+					suggestions.getItems().add(item);
+				}
+			}
+			if (suggestions.getItems().isEmpty()) {
+				suggestions.hide();
+			} else if (!suggestions.isShowing()) {
+				suggestions.show(closeLName.isFocused() ? closeLName : closeFName, Side.BOTTOM, 0, 0);
+			}
+		};
+		closeFName.textProperty().addListener(search);
+		closeLName.textProperty().addListener(search);
+		ChangeListener<Boolean> focus = (observable, wasFocused, focused) -> {
+			if (!closeFName.isFocused() && !closeLName.isFocused()) suggestions.hide();
+		};
+		closeFName.focusedProperty().addListener(focus);
+		closeLName.focusedProperty().addListener(focus);
+	}
+
+	/**
+	 * Fills in the Close By Profile fields with a holder.
+	 *
+	 * @param holder the holder.
+	 */
+	private void fillHolder(Profile holder) {
+		fillingHolder = true;
+		closeFName.setText(holder.getFirstName());
+		closeLName.setText(holder.getLastName());
+		Date dob = holder.getDateOfBirth();
+		closeProfileDob.setValue(LocalDate.of(dob.getYear(), dob.getMonth(), dob.getDay()));
+		fillingHolder = false;
+	}
+
+	/**
+	 * Suggests the account numbers starting with what was typed in a field,
+	 * found in the number index of the database, see AccountDatabase.findByPrefix().
+	 * Picking a suggestion fills in the whole number.
+	 *
+	 * @param field the account number field.
+	 */
+	private void setUpTypeAhead(TextField field) {
+		ContextMenu suggestions = new ContextMenu();
+		field.textProperty().addListener((observable, oldValue, newValue) -> {
+			String prefix = newValue.trim();
+			suggestions.getItems().clear();
+			if (!prefix.isEmpty() && prefix.length() < 9) {
+				accountDB.findByPrefix(prefix).limit(NUMBER_SUGGESTIONS).forEach(account -> {
+					Profile holder = account.getHolder();
+					MenuItem item = new MenuItem(account.getNumber() + "  " + holder.getFirstName() + " " + holder.getLastName());
+					item.setMnemonicParsing(false);
+					item.setOnAction(e -> field.setText(account.getNumber().toString()));
+					suggestions.getItems().add(item);
+				});
+			}
+			if (suggestions.getItems().isEmpty()) {
+				suggestions.hide();
+			} else if (!suggestions.isShowing()) {
+				suggestions.show(field, Side.BOTTOM, 0, 0);
+			}
+		});
+		field.focusedProperty().addListener((observable, wasFocused, focused) -> {
+			if (!focused) suggestions.hide();
+		});
+	}
+
+	/**
+	 * Shows a report of the accounts in the list view. The list only reads
+	 * the rows in sight from the database, see ReportList, so large
+	 * databases are listed without printing the whole report.
+	 *
+	 * @param key 'B' for branch, 'H' for holder or 'T' for type.
+	 */
+	private void showReport(char key) {
+		reportListView.setItems(new ReportList(accountDB.cursor(key)));
+		reportListView.scrollTo(0);
+		reportListView.setVisible(true);
+		outputTextArea.setVisible(false);
+	}
+
+	/**
+	 * Shows a message or a printed report in the text area.
+	 *
+	 * @param text the text.
+	 */
+	private void showText(String text) {
+		outputTextArea.setText(text);
+		outputTextArea.setVisible(true);
+		reportListView.setVisible(false);
+	}
+
+	/**
+	 * Updates the report in the list view after the database changed. The
+	 * rows in sight are read again after a deposit or withdrawal; after an
+	 * account is opened or closed the report is listed again.
+	 */
+	private void refreshReport() {
+		if (!reportListView.isVisible() || !(reportListView.getItems() instanceof ReportList report)) return;
+		if (report.getCursor().isCurrent()) {
+			reportListView.refresh();
+		} else {
+			showReport(report.getCursor().getKey());
+		}
 	}
 
 
@@ -186,7 +321,7 @@ public class Controller {
 		int termNumber = 0;
 		if (term != null) { try { termNumber = Integer.parseInt(term); } catch (NumberFormatException e) { return; } }
 
-		Account duplicateAccount = findDuplicateAccount(accountDB, profile, type, termNumber);
+		Account duplicateAccount = accountDB.findDuplicateAccount(profile, type, termNumber);
 		if (duplicateAccount != null && accountDB.contains(duplicateAccount)) { notifications(firstName + " " + lastName + " already has a " + type + " account.", false); return; }
 		if (type == AccountType.MONEY_MARKET && initialDeposit < MONEY_MARKET_MINIMUM) { notifications("Minimum of $2,000 to open a Money Market account.", false); return; }
 		if (type == AccountType.CD && initialDeposit < CertificateDeposit.MIN_BALANCE) { notifications("Minimum of $1,000 to open a Certificate Deposit account.", false); return; }
@@ -194,13 +329,14 @@ public class Controller {
 		Account account = createAccount(accountDB, type, branch, profile, initialDeposit, termNumber);
 		if (account == null) { return; }
 		accountDB.add(account);
+		refreshReport();
 		notifications(type + " account " + account.getNumber() + " has been opened.", true);
 	}
 
 	/**
 	 * This method actually creates the account of the user from the O command, based off the type of account they make.
 	 *
-	 * @param accountDB      the database of the accounts, to check if a user already has a checking account
+	 * @param accountDB      the database of the accounts, it sets the loyal status when the account is added
 	 * @param type           the account type to compare to, to create the correct type of account
 	 * @param branch         the branch of where the user wants to create the account
 	 * @param profile        the profile details of the user to create the account
@@ -216,16 +352,10 @@ public class Controller {
 				return new Checking(number, profile, initialDeposit);
 			case SAVINGS:
 				AccountNumber number1 = new AccountNumber(branch, type);
-				Savings savingsAcc = new Savings(number1, profile, initialDeposit, isLoyal);
-				isLoyal = hasChecking(accountDB, profile);
-				if (isLoyal) { savingsAcc.setLoyal(true); }
-				return savingsAcc;
+				return new Savings(number1, profile, initialDeposit, isLoyal);
 			case MONEY_MARKET:
 				AccountNumber number2 = new AccountNumber(branch, type);
-				isLoyal = initialDeposit >= MONEY_MARKET_MINIMUM_FOR_LOYAL;
-				MoneyMarket moneyAcc = new MoneyMarket(number2, profile, initialDeposit, isLoyal);
-				if (isLoyal) { moneyAcc.setLoyal(true); }
-				return moneyAcc;
+				return new MoneyMarket(number2, profile, initialDeposit, isLoyal);
 			case COLLEGE_CHECKING:
 				RadioButton campusSelect = (RadioButton) campusToggleGroup.getSelectedToggle();
 				String campusText = campusSelect.getText();
@@ -268,50 +398,6 @@ public class Controller {
 	}
 
 
-	/**
-	 * This method is a helper method for creating an account and checks if a savings account being made has a checking account as well
-	 *
-	 * @param accountDB the account database to traverse from
-	 * @param profile   the profile to compare
-	 * @return returns true if it has a checking account, otherwise false
-	 */
-	private boolean hasChecking(AccountDatabase accountDB, Profile profile) {
-		for (int i = 0; i < accountDB.size(); i++) {
-			if (accountDB.get(i).getHolder().equals(profile) && accountDB.get(i).getNumber().getType() == AccountType.CHECKING) {
-				return true;
-			}
-		}
-		return false;
-	}
-
-	/**
-	 * This is a private helper method for checking duplicate accounts when a user tries to open an account
-	 *
-	 * @param accountDB the database to get accounts
-	 * @param profile   the profile to compare
-	 * @param type      the account type to compare
-	 * @param term      the term to compare for CD accounts
-	 * @return returns the account if theirs a duplicate, null otherwise.
-	 */
-	private Account findDuplicateAccount(AccountDatabase accountDB, Profile profile, AccountType type, int term) {
-		for (int i = 0; i < accountDB.size(); i++) {
-			if (accountDB.get(i).getNumber().getType() == AccountType.CD && type == AccountType.CD) {
-				CertificateDeposit cdAcc = (CertificateDeposit) accountDB.get(i);
-				if (accountDB.get(i).getHolder().equals(profile) &&
-						accountDB.get(i).getNumber().getType() == type && cdAcc.getTerm() == term) {
-					return accountDB.get(i);
-				}
-			} else {
-				if (accountDB.get(i).getHolder().equals(profile) &&
-						accountDB.get(i).getNumber().getType() == type) {
-					return accountDB.get(i);
-				}
-			}
-		}
-		return null;
-	}
-
-
 	/**
 	 * This method handles the D command (deposit)
 	 *
@@ -333,24 +419,11 @@ public class Controller {
 			if (amount <= 0) { notifications(amount + " - deposit amount cannot be 0 or negative.", false); return; }
 		} catch (NumberFormatException e) {
 			notifications("For input string: \"" + amountString + "\" - not a valid amount.", false); return; }
-		boolean accountFound = false;
-
-		for (int i = 0; i < accountDB.size(); i++) {
-			if (accountDB.get(i).getNumber().toString().equals(accNumber)) {
-				accountFound = true;
-				accountDB.deposit(accountDB.get(i).getNumber(), amount);
-				notifications("$" + String.format("%,.2f", amount) + " deposited to " + accNumber, true);
-
-				if (accountDB.get(i).getNumber().getType() == AccountType.MONEY_MARKET) {
-					MoneyMarket moneyAcc = (MoneyMarket) accountDB.get(i);
-					if (accountDB.get(i).getBalance() > MONEY_MARKET_MINIMUM_FOR_LOYAL) { moneyAcc.setLoyal(true); }
-				}
-				Activity deposit = new Activity(new Date(), accountDB.get(i).getNumber().getBranch(), 'D', amount, false);
-				accountDB.get(i).addActivity(deposit);
-				break;
-			}
-		}
-		if (!accountFound) { notifications(accNumber + " does not exist.", false); }
+		Account account = accountDB.findAccount(accNumber);
+		if (account == null) { notifications(accNumber + " does not exist.", false); return; }
+		accountDB.deposit(account, amount, new Date());
+		refreshReport();
+		notifications("$" + String.format("%,.2f", amount) + " deposited to " + accNumber, true);
 	}
 
 
@@ -370,33 +443,19 @@ public class Controller {
 		try { amount = Double.parseDouble(amountString);
 			if (amount <= 0) { notifications(amountString + " withdrawal amount cannot be 0 or negative.", false); return; }
 		} catch (NumberFormatException e) { notifications("For input string: \"" + amountString + "\" - not a valid amount.", false); return;}
-		boolean accountFound = false;
-		for (int i = 0; i < accountDB.size(); i++) {
-			if (accountDB.get(i).getNumber().toString().replace(" ", "").equals(accNumber)) {
-				accountFound = true;
-				if (accountDB.get(i).getBalance() >= amount) {
-					Activity withdrawal = new Activity(new Date(), accountDB.get(i).getNumber().getBranch(), 'W', amount, false);
-					accountDB.get(i).addActivity(withdrawal);
-					accountDB.withdraw(accountDB.get(i).getNumber(), amount);
-					if (accountDB.get(i).getNumber().getType() == AccountType.MONEY_MARKET) {
-						MoneyMarket moneyAcc = (MoneyMarket) accountDB.get(i);
-						moneyAcc.incrementWithdrawals();
-						if (accountDB.get(i).getBalance() < MONEY_MARKET_MINIMUM) {
-							if (amount <= accountDB.get(i).getBalance()) { notifications(accNumber + "\" balance below $2,000 - \" $" + String.format("%,.2f", amount) + " withdrawn from " + accNumber, true); }
-						} else {
-							if (amount <= accountDB.get(i).getBalance()) { notifications("$" + String.format("%,.2f", amount) + " withdrawn from " + accNumber, true); }
-						}
-						if (accountDB.get(i).getBalance() < MONEY_MARKET_MINIMUM_FOR_LOYAL) { moneyAcc.setLoyal(false); } return;
-					}
-					notifications("$" + String.format("%,.2f", amount) + " withdrawn from " + accNumber, true); return;
-				}
-				if (amount > accountDB.get(i).getBalance() && accountDB.get(i).getBalance() < MONEY_MARKET_MINIMUM) { notifications(accNumber + " balance below $2,000 - " + "withdrawing $" + String.format("%,.2f", amount) + " - insufficient funds.", false); return;
-				} else if (amount > accountDB.get(i).getBalance()) { notifications(accNumber + " - insufficient funds.", false); return;
-				}
-				break;
+		Account account = accountDB.findAccount(accNumber);
+		if (account == null) { notifications(accNumber + " does not exist.", false); return; }
+		if (accountDB.withdraw(account, amount, new Date())) {
+			refreshReport();
+			if (account.getNumber().getType() == AccountType.MONEY_MARKET && account.getBalance() < MONEY_MARKET_MINIMUM) {
+				if (amount <= account.getBalance()) { notifications(accNumber + "\" balance below $2,000 - \" $" + String.format("%,.2f", amount) + " withdrawn from " + accNumber, true); }
+			} else if (account.getNumber().getType() != AccountType.MONEY_MARKET || amount <= account.getBalance()) {
+				notifications("$" + String.format("%,.2f", amount) + " withdrawn from " + accNumber, true);
 			}
+			return;
 		}
-		if (!accountFound) { notifications(accNumber + " does not exist.", false); }
+		if (account.getBalance() < MONEY_MARKET_MINIMUM) { notifications(accNumber + " balance below $2,000 - " + "withdrawing $" + String.format("%,.2f", amount) + " - insufficient funds.", false);
+		} else { notifications(accNumber + " - insufficient funds.", false); }
 	}
 
 
@@ -413,35 +472,11 @@ public class Controller {
 		}
 		Date close = new Date(closeDate.getValue().toString());
 		String number = closeAccountNumber.getText().trim();
-		double interest = 0;
-		double penalty = 0;
-		Profile holder = null;
-		boolean closedChecking = false;
-		boolean found = false;
-		StringBuilder print = new StringBuilder();
-		for (int i = 0; i < accountDB.size(); i++) {
-			Account account = accountDB.get(i);
-			if (account.getNumber().toString().equals(number)) { found = true;
-				print.append("Closing account ").append(account.getNumber().toString()).append("\n");
-				if (account.getNumber().getType() != AccountType.CD) { interest = calculateInterestClosing(account, close); print.append("--interest earned: $").append(String.format("%,.2f", interest)).append("\n");
-				} else {
-					CertificateDeposit cd = (CertificateDeposit) account;
-					if (close.compareTo(cd.getOpen()) < 0) { notifications("Closing date is earlier than the opening date of the Certificate Deposit account, please choose a date that is after.", false); return; }
-
-					interest = cd.calculateClosingInterest(close);
-					if (close.compareTo(cd.getMaturityDate()) < 0) {
-						penalty = cd.calculatePenalty(close);
-						print.append("--interest earned: $").append(String.format("%,.2f", interest)).append("\n");
-						print.append("--penalty: $").append(String.format("%,.2f", penalty)).append("\n");
-					} else { print.append("--interest earned: $").append(String.format("%,.2f", interest)).append("\n"); }
-				}
-				if (account.getNumber().getType() == AccountType.CHECKING) { holder = account.getHolder(); closedChecking = true; }
-				accountDB.getArchive().add(account, close);
-				accountDB.remove(account);
-				alert(print.toString(), true);
-				if (closedChecking && holder != null) { removeLoyalStatus(accountDB, holder); } return; }
-		}
-		notifications(number + " account does not exist.", false);
+		Account account = accountDB.findAccount(number);
+		if (account == null) { notifications(number + " account does not exist.", false); return; }
+		if (AccountDatabase.isClosedBeforeOpening(account, close)) { notifications("Closing date is earlier than the opening date of the Certificate Deposit account, please choose a date that is after.", false); return; }
+		alert(accountDB.closeAccount(account, close), true);
+		refreshReport();
 	}
 
 	/**
@@ -451,89 +486,24 @@ public class Controller {
 	 */
 	@FXML
 	private void closeAllAccounts(ActionEvent actionEvent) {
-		Date close = new Date(closeDate.getValue().toString());
 		String fName = closeFName.getText().trim();
 		String lName = closeLName.getText().trim();
-		Date dob = new Date(closeProfileDob.getValue().toString());
-		StringBuilder print = new StringBuilder();
 		if (closeDate.getValue() == null || fName.isEmpty() || lName.isEmpty() || closeProfileDob.getValue() == null) { notifications("Fill in the required fields.", false); return; }
-		double interest = 0;
-		double penalty = 0;
-		boolean found = false;
-		for (int i = accountDB.size() - 1; i >= 0; i--) {
-			Account account = accountDB.get(i);
-			if (account.getHolder().getFirstName().equalsIgnoreCase(fName) && account.getHolder().getLastName().equalsIgnoreCase(lName) && account.getHolder().getDateOfBirth().equals(new Date(closeProfileDob.getValue().toString()))) {
-				if (!found) { print.append("Closing accounts for ").append(fName).append(" ").append(lName).append(" ").append(dob).append("\n"); found = true; }
-				if (account.getNumber().getType() == AccountType.CD) {
-					CertificateDeposit cd = (CertificateDeposit) account;
-					if (close.compareTo(cd.getOpen()) < 0) { notifications("Closing date is earlier than the opening date of the Certificate Deposit account, please choose a date that is after.", false); return; }
-					interest = cd.calculateClosingInterest(close);
-					penalty = cd.calculatePenalty(close);
-					print.append("--").append(account.getNumber()).append(" interest earned: ").append(String.format("$%,.2f", interest)).append("\n");
-					print.append("  [penalty] $").append(String.format("%,.2f", penalty)).append("\n");
-				} else {
-					interest = calculateInterestClosing(account, close);
-					print.append("--").append(account.getNumber()).append(" interest earned: ").append(String.format("$%,.2f", interest)).append("\n");
-				}
-				accountDB.getArchive().add(account, close);
-				accountDB.remove(account);
-			}
+		Date close = new Date(closeDate.getValue().toString());
+		Date dob = new Date(closeProfileDob.getValue().toString());
+		Profile holder = new Profile(fName, lName, dob);
+		for (Account account : accountDB.getHolderAccounts(holder)) {
+			if (AccountDatabase.isClosedBeforeOpening(account, close)) { notifications("Closing date is earlier than the opening date of the Certificate Deposit account, please choose a date that is after.", false); return; }
 		}
-		if (!found) {
+		String print = accountDB.closeAccounts(holder, close);
+		if (print == null) {
 			notifications(fName + " " + lName + " " + dob + " does not have any accounts in the database.", false);
 		} else {
-			print.append("All accounts for ").append(fName).append(" ").append(lName).append(" ").append(dob).append(" are closed and moved to archive.").append("\n");
-			alert(print.toString(), true);
+			alert(print, true);
+			refreshReport();
 		}
 	}
 
-	/**
-	 * This is a helper method for closing an account, where if a user closes a checking account, and they also have a savings account, it removes the loyal status.
-	 *
-	 * @param accountDB the account database to traverse from
-	 * @param holder    the holder to compare
-	 */
-	private void removeLoyalStatus(AccountDatabase accountDB, Profile holder) {
-		for (int i = 0; i < accountDB.size(); i++) {
-			if (accountDB.get(i).getHolder().equals(holder)) {
-				if (accountDB.get(i).getNumber().getType() == AccountType.SAVINGS) {
-					Savings savingsAcc = (Savings) accountDB.get(i);
-					savingsAcc.setLoyal(false);
-				}
-			}
-		}
-	}
-
-	/**
-	 * This method is a helper method for closing an account, it calculates the interest at closing of non-CD accounts.
-	 *
-	 * @param account the account to compare the account type
-	 * @param close   the close date, to get the day of the date
-	 * @return returns the interest of non-CD accounts using the formula
-	 */
-	private double calculateInterestClosing(Account account, Date close) {
-		int day = close.getDay();
-		double rate = 0.0;
-		double balance = account.getBalance();
-		double days_per_year = 365.0;
-
-		if (account.getNumber().getType() == AccountType.CHECKING) {
-			rate = Checking.ANNUAL_INTEREST_RATE;
-		} else if (account.getNumber().getType() == AccountType.SAVINGS) {
-			Savings savingsAcc = (Savings) account;
-			if (savingsAcc.isLoyal)
-				rate = Savings.LOYALTY_BONUS + Savings.ANNUAL_INTEREST_RATE;
-			else {
-				rate = Savings.ANNUAL_INTEREST_RATE;
-			}
-		} else if (account.getNumber().getType() == AccountType.MONEY_MARKET) {
-			rate = MoneyMarket.ANNUAL_INTEREST_RATE;
-		} else if (account.getNumber().getType() == AccountType.COLLEGE_CHECKING) {
-			rate = CollegeChecking.ANNUAL_INTEREST_RATE;
-		}
-		return (balance * (rate / days_per_year) * day);
-	}
-
 	/**
 	 * This method handles the PB command.
 	 *
@@ -542,9 +512,9 @@ public class Controller {
 	@FXML
 	private void printByBranch(ActionEvent actionEvent) {
 		if (accountDB != null) {
-			outputTextArea.setText(accountDB.printByBranch());
+			showReport('B');
 		} else {
-			outputTextArea.setText("Database is empty.");
+			showText("Database is empty.");
 		}
 	}
 
@@ -556,9 +526,9 @@ public class Controller {
 	@FXML
 	private void printByType(ActionEvent actionEvent) {
 		if (accountDB != null) {
-			outputTextArea.setText(accountDB.printByType());
+			showReport('T');
 		} else {
-			outputTextArea.setText("Database is empty.");
+			showText("Database is empty.");
 		}
 	}
 
@@ -570,9 +540,9 @@ public class Controller {
 	@FXML
 	private void printByHolder(ActionEvent actionEvent) {
 		if (accountDB != null) {
-			outputTextArea.setText(accountDB.printByHolder());
+			showReport('H');
 		} else {
-			outputTextArea.setText("Database is empty.");
+			showText("Database is empty.");
 		}
 	}
 
@@ -584,9 +554,9 @@ public class Controller {
 	@FXML
 	private void printStatements(ActionEvent actionEvent) {
 		if (accountDB != null) {
-			outputTextArea.setText(accountDB.printStatements());
+			showText(accountDB.printStatements());
 		} else {
-			outputTextArea.setText("Database is empty.");
+			showText("Database is empty.");
 		}
 	}
 
@@ -598,9 +568,9 @@ public class Controller {
 	@FXML
 	private void printArchive(ActionEvent actionEvent) {
 		if (accountDB != null) {
-			outputTextArea.setText(accountDB.printArchive());
+			showText(accountDB.printArchive());
 		} else {
-			outputTextArea.setText("Archive is empty");
+			showText("Archive is empty");
 		}
 	}
 
@@ -639,63 +609,15 @@ public class Controller {
 		if (file != null) {
 			try {
 				accountDB.loadAccounts(file);
-				outputTextArea.setText("Accounts in " + file.getName() + " loaded to the database.");
+				showText("Accounts in " + file.getName() + " loaded to the database.");
 			} catch (IOException e) {
-				outputTextArea.setText("Error loading accounts, please select a file in the correct format.");
+				showText("Error loading accounts, please select a file in the correct format.");
 			} catch (Exception e) {
-				outputTextArea.setText("Error loading accounts, The file you selected is not in the correct format");
+				showText("Error loading accounts, The file you selected is not in the correct format");
 			}
 		}
 	}
 
-	/**
-	 * This method prints the activities that were processed in accountDB
-	 *
-	 * @param file the file used to process the activities
-	 * @return returns the stringbuilder that prints out the activities
-	 * @throws IOException exception handler to handle the file
-	 */
-	private String printActivities(File file) throws IOException {
-		StringBuilder print = new StringBuilder();
-		print.append("Processing \"").append(file.getName()).append("\"...\n");
-
-		accountDB.processActivities(file);
-		Scanner scanner = new Scanner(file);
-		List<String> printedAccounts = new List<>();
-
-		while (scanner.hasNextLine()) {
-			StringTokenizer token = new StringTokenizer(scanner.nextLine(), ",");
-			token.nextToken();
-			String accountNumber = token.nextToken();
-
-			Account account = null;
-			for (int i = 0; i < accountDB.size(); i++) {
-				if (accountDB.get(i).getNumber().toString().equals(accountNumber)) {
-					account = accountDB.get(i);
-					break;
-				}
-			}
-
-			if (account != null) {
-				if (printedAccounts.contains(accountNumber)) {
-					continue;
-				}
-				printedAccounts.add(accountNumber);
-
-				if (account.getActivities() != null) {
-					List<Activity> activities = account.getActivities();
-					for (int i = 0; i < activities.size(); i++) {
-						Activity activity = activities.get(i);
-						print.append(accountNumber).append("::").append(activity.toString()).append("\n");
-					}
-				}
-			}
-		}
-		scanner.close();
-		print.append("Account activities in \"").append(file.getName()).append("\" processed.\n");
-		return print.toString();
-	}
-
 	/**
 	 * This methods loads the activities from the selected file.
 	 *
@@ -711,11 +633,11 @@ public class Controller {
 
 		if (file != null) {
 			try {
-				outputTextArea.setText(printActivities(file));
+				showText(accountDB.printActivities(file));
 			} catch (IOException e) {
-				outputTextArea.setText("Error loading activities, please select a file that is in the correct format. ");
+				showText("Error loading activities, please select a file that is in the correct format. ");
 			} catch (Exception e) {
-				outputTextArea.setText("Error loading activities, please select a file that is in the correct format!");
+				showText("Error loading activities, please select a file that is in the correct format!");
 			}
 		}
 	}
@@ -804,6 +726,11 @@ public class Controller {
 	 */
 	public void initialize() {
 		accountDB = new AccountDatabase();
+		try {
+			accountDB.getMetrics().register(accountDB);
+		} catch (JMException e) {
+			System.err.println("Bank metrics are not available over JMX: " + e.getMessage());
+		}
 		setUpButtons();
 		if (campusToggleGroup == null) {
 			campusToggleGroup = new ToggleGroup();
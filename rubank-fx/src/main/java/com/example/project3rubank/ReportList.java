@@ -0,0 +1,56 @@
+package com.example.project3rubank;
+
+import com.example.project3rubank.bank.ReportCursor;
+import javafx.collections.ObservableListBase;
+
+/**
+ * This class shows a report of the database in a ListView without holding
+ * its rows. The list view only asks for the rows of the cells in sight, and
+ * reuses its cells as the user scrolls, so the rows are read from a
+ * ReportCursor a page at a time and a listing of a million accounts takes
+ * the memory of a few pages.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class ReportList extends ObservableListBase<String> {
+	private final ReportCursor cursor;
+
+	/**
+	 * Creates the list of the rows of a report.
+	 *
+	 * @param cursor the cursor over the report.
+	 */
+	public ReportList(ReportCursor cursor) {
+		this.cursor = cursor;
+	}
+
+	/**
+	 * Gets the cursor the rows are read from.
+	 *
+	 * @return the cursor.
+	 */
+	public ReportCursor getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * Gets a row of the report.
+	 *
+	 * @param index the row.
+	 * @return the text of the row.
+	 */
+	@Override
+	public String get(int index) {
+		return cursor.get(index);
+	}
+
+	/**
+	 * Gets the number of rows of the report.
+	 *
+	 * @return the number of rows.
+	 */
+	@Override
+	public int size() {
+		return cursor.size();
+	}
+}
@@ -1,8 +1,9 @@
 module com.example.project3rubank {
 	requires javafx.controls;
 	requires javafx.fxml;
+	requires com.example.project3rubank.core;
 
 
 	opens com.example.project3rubank to javafx.fxml;
 	exports com.example.project3rubank;
-}
\ No newline at end of file
+}
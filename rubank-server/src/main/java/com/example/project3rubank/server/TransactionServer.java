@@ -0,0 +1,486 @@
+package com.example.project3rubank.server;
+
+import com.example.project3rubank.bank.*;
+import com.example.project3rubank.util.Date;
+import com.example.project3rubank.util.Money;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * The TransactionServer class serves teller and ATM traffic over HTTP for an
+ * AccountDatabase, using the JDK's built-in server with one virtual thread
+ * per request. Connections are kept alive between requests. Parameters are
+ * read from the query string or a form-encoded body, dates are MM/DD/YYYY
+ * and responses are plain text.
+ *
+ *     POST /accounts                    open: type, branch, first, last, dob, balance,
+ *                                       campus (college), term and open (certificate)
+ *     POST /accounts/{number}/deposit   amount
+ *     POST /accounts/{number}/withdraw  amount
+ *     POST /accounts/{number}/close     date
+ *     GET  /accounts/{number}/balance
+ *     GET  /accounts/{number}/statement the statement so far, nothing is applied; from and
+ *                                       to limit the activities listed to a period
+ *
+ * Opening and closing hold the write lock of the database. The other
+ * requests hold the read lock and synchronize on their account, so
+ * transactions on different accounts run in parallel.
+ *
+ * @author Natalia Peguero, Olivia Kamau
+ */
+public class TransactionServer {
+    private static final String ACCOUNTS = "/accounts";
+    private static final int BACKLOG = 1024;
+    private static final double MONEY_MARKET_MINIMUM = 2000.0;
+    private static final int NUMBERS = 9999;        // the 4-digit numbers of a branch and type
+    private static final int DRAWS_BEFORE_COUNT = 100; // numbers drawn before checking that one is left
+
+    private final AccountDatabase accountDB;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a server for the database on the given address, call start()
+     * to accept requests.
+     *
+     * @param accountDB the database the requests work on.
+     * @param address   the address to listen on, port 0 picks a free port.
+     * @throws IOException if the address cannot be bound.
+     */
+    public TransactionServer(AccountDatabase accountDB, InetSocketAddress address) throws IOException {
+        this.accountDB = accountDB;
+        this.server = HttpServer.create(address, BACKLOG);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext(ACCOUNTS, this::handle);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, waiting up to the given delay for requests in progress.
+     *
+     * @param delay the maximum time to wait in seconds.
+     */
+    public void stop(int delay) {
+        server.stop(delay);
+        executor.shutdown();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Routes a request to its handler and sends the response.
+     *
+     * @param exchange the request and response.
+     * @throws IOException if the response cannot be sent.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        Response response;
+        try {
+            Map<String, String> params = params(exchange);
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+
+            if (path.equals(ACCOUNTS) || path.equals(ACCOUNTS + "/")) {
+                response = method.equals("POST") ? open(params) : new Response(405, "Use POST to open an account.");
+            } else {
+                String[] parts = path.substring(ACCOUNTS.length() + 1).split("/");
+                if (parts.length != 2) {
+                    response = new Response(404, "Unknown path " + path);
+                } else {
+                    response = handle(method, parts[0], parts[1], params);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            response = new Response(400, e.getMessage());
+        } catch (RuntimeException e) { // answer anyway, the client would only see the connection drop
+            response = new Response(500, e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+        send(exchange, response);
+    }
+
+    /**
+     * Handles a request on one account.
+     *
+     * @param method the HTTP method.
+     * @param number the account number.
+     * @param action deposit, withdraw, close, balance or statement.
+     * @param params the request parameters.
+     * @return the response.
+     */
+    private Response handle(String method, String number, String action, Map<String, String> params) {
+        switch (action) {
+            case "deposit":
+            case "withdraw":
+            case "close":
+                if (!method.equals("POST")) return new Response(405, "Use POST to " + action + ".");
+                break;
+            case "balance":
+            case "statement":
+                if (!method.equals("GET")) return new Response(405, "Use GET for the " + action + ".");
+                break;
+            default:
+                return new Response(404, "Unknown action " + action);
+        }
+        if (action.equals("close")) return close(number, parseDate(required(params, "date")));
+
+        Lock lock = accountDB.getLock().readLock();
+        lock.lock();
+        try {
+            Account account = accountDB.findAccount(number);
+            if (account == null) return new Response(404, number + " does not exist.");
+            synchronized (account) {
+                switch (action) {
+                    case "deposit": return deposit(account, parseAmount(params));
+                    case "withdraw": return withdraw(account, parseAmount(params));
+                    case "balance": return new Response(200, Money.appendPlain(new StringBuilder(), account.getBalance()).toString());
+                    default: return new Response(200, account.getNumber() + "\n" + statement(account, params));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens an account.
+     *
+     * @param params the request parameters.
+     * @return the response, the body is the new account number.
+     */
+    private Response open(Map<String, String> params) {
+        AccountType type = parseType(required(params, "type"));
+        Branch branch = Branch.valueOf(required(params, "branch").toUpperCase());
+        Date dob = parseDate(required(params, "dob"));
+        Profile holder = new Profile(required(params, "first"), required(params, "last"), dob);
+        double balance = parseDouble(required(params, "balance"), "balance");
+
+        if (dob.compareTo(new Date()) >= 0) return new Response(400, "DOB invalid: " + dob + " cannot be today or a future day.");
+        if (!dob.isAdult()) return new Response(400, "Not eligible to open: " + dob + " under 18.");
+        if (balance <= 0) return new Response(400, "Initial deposit cannot be 0 or negative.");
+        if (type == AccountType.MONEY_MARKET && balance < MONEY_MARKET_MINIMUM) return new Response(400, "Minimum of $2,000 to open a Money Market account.");
+        if (type == AccountType.CD && balance < CertificateDeposit.MIN_BALANCE) return new Response(400, "Minimum of $1,000 to open a Certificate Deposit account.");
+        int term = type == AccountType.CD ? parseTerm(required(params, "term")) : 0;
+        Date open = type == AccountType.CD ? parseDate(required(params, "open")) : null;
+        if (open != null && open.compareTo(new Date()) > 0) return new Response(400, "Open date invalid: " + open + " cannot be a future day.");
+
+        Lock lock = accountDB.getLock().writeLock();
+        lock.lock();
+        try {
+            if (accountDB.findDuplicateAccount(holder, type, term) != null) {
+                return new Response(409, holder.getFirstName() + " " + holder.getLastName() + " already has a " + type + " account.");
+            }
+            AccountNumber number = newNumber(branch, type);
+            if (number == null) return new Response(409, "No account numbers left for " + type + " at " + branch + ".");
+            Account account = switch (type) {
+                case CHECKING -> new Checking(number, holder, balance);
+                case SAVINGS -> new Savings(number, holder, balance, false);
+                case MONEY_MARKET -> new MoneyMarket(number, holder, balance, false);
+                case COLLEGE_CHECKING -> new CollegeChecking(number, holder, balance, parseCampus(required(params, "campus")));
+                case CD -> new CertificateDeposit(number, holder, balance, false, term, open);
+            };
+            if (account instanceof CollegeChecking college && !college.isEligible()) {
+                return new Response(400, "Not eligible to open: " + dob + " over 24.");
+            }
+            accountDB.add(account);
+            return new Response(201, number.toString());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Draws account numbers until one is not in use, so the number returned
+     * to the client only ever names the new account. The caller holds the
+     * write lock.
+     *
+     * @param branch the branch.
+     * @param type   the account type.
+     * @return the number, null if every number of the branch and type is in use.
+     */
+    private AccountNumber newNumber(Branch branch, AccountType type) {
+        AccountNumber number = new AccountNumber(branch, type);
+        for (int draws = 1; accountDB.findAccount(number.toString()) != null; draws++) {
+            if (draws % DRAWS_BEFORE_COUNT == 0
+                    && accountDB.countByPrefix(branch.getBranchCode() + type.getCode()) >= NUMBERS) {
+                return null;
+            }
+            number = new AccountNumber(branch, type);
+        }
+        return number;
+    }
+
+    /**
+     * Deposits to an account, the caller holds the account.
+     *
+     * @param account the account.
+     * @param amount  the amount.
+     * @return the response.
+     */
+    private Response deposit(Account account, double amount) {
+        accountDB.deposit(account, amount, new Date());
+        return new Response(200, "$" + String.format(Locale.ROOT, "%,.2f", amount) + " deposited to " + account.getNumber());
+    }
+
+    /**
+     * Withdraws from an account, the caller holds the account.
+     *
+     * @param account the account.
+     * @param amount  the amount.
+     * @return the response.
+     */
+    private Response withdraw(Account account, double amount) {
+        if (!accountDB.withdraw(account, amount, new Date())) {
+            return new Response(409, account.getNumber() + " - insufficient funds.");
+        }
+        return new Response(200, "$" + String.format(Locale.ROOT, "%,.2f", amount) + " withdrawn from " + account.getNumber());
+    }
+
+    /**
+     * Previews the statement of an account, the caller holds the account.
+     * The optional from and to dates limit the activities listed.
+     *
+     * @param account the account.
+     * @param params  the request parameters.
+     * @return the statement.
+     */
+    private static String statement(Account account, Map<String, String> params) {
+        String from = params.get("from");
+        String to = params.get("to");
+        if (from == null && to == null) return account.previewStatement();
+        return account.previewStatement(from == null ? null : parseDate(from), to == null ? null : parseDate(to));
+    }
+
+    /**
+     * Closes an account and moves it to the archive.
+     *
+     * @param number the account number.
+     * @param close  the closing date.
+     * @return the response, the body is the closing summary.
+     */
+    private Response close(String number, Date close) {
+        Lock lock = accountDB.getLock().writeLock();
+        lock.lock();
+        try {
+            Account account = accountDB.findAccount(number);
+            if (account == null) return new Response(404, number + " account does not exist.");
+            if (AccountDatabase.isClosedBeforeOpening(account, close)) {
+                return new Response(400, "Closing date is earlier than the opening date of the Certificate Deposit account.");
+            }
+            return new Response(200, accountDB.closeAccount(account, close));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the query string and a form-encoded body into one map.
+     *
+     * @param exchange the request.
+     * @return the parameters.
+     * @throws IOException if the body cannot be read.
+     */
+    private static Map<String, String> params(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parse(exchange.getRequestURI().getRawQuery(), params);
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readAllBytes();
+            if (body.length > 0) parse(new String(body, StandardCharsets.UTF_8), params);
+        }
+        return params;
+    }
+
+    /**
+     * Parses URL-encoded key=value pairs.
+     *
+     * @param encoded the encoded pairs, may be null.
+     * @param params  the map the pairs are added to.
+     */
+    private static void parse(String encoded, Map<String, String> params) {
+        if (encoded == null || encoded.isEmpty()) return;
+        for (String pair : encoded.split("&")) {
+            int split = pair.indexOf('=');
+            if (split <= 0) continue;
+            params.put(URLDecoder.decode(pair.substring(0, split), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(split + 1), StandardCharsets.UTF_8).trim());
+        }
+    }
+
+    /**
+     * Sends a response with its length, which keeps the connection alive.
+     *
+     * @param exchange the exchange.
+     * @param response the response.
+     * @throws IOException if the response cannot be sent.
+     */
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] body = (response.body + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(response.status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Gets a parameter that must be present.
+     *
+     * @param params the parameters.
+     * @param name   the parameter name.
+     * @return the value.
+     */
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) throw new IllegalArgumentException("Missing " + name + ".");
+        return value;
+    }
+
+    /**
+     * Parses the amount of a deposit or withdrawal.
+     *
+     * @param params the parameters.
+     * @return the amount, greater than 0.
+     */
+    private static double parseAmount(Map<String, String> params) {
+        double amount = parseDouble(required(params, "amount"), "amount");
+        if (amount <= 0) throw new IllegalArgumentException(amount + " - amount cannot be 0 or negative.");
+        return amount;
+    }
+
+    /**
+     * Parses a number.
+     *
+     * @param text the text.
+     * @param name the parameter name for the error message.
+     * @return the number.
+     */
+    private static double parseDouble(String text, String name) {
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("For input string: \"" + text + "\" - not a valid " + name + ".");
+        }
+    }
+
+    /**
+     * Parses a MM/DD/YYYY date.
+     *
+     * @param text the date.
+     * @return the date.
+     */
+    private static Date parseDate(String text) {
+        String[] parts = text.split("/");
+        if (parts.length != 3) throw new IllegalArgumentException("Expected a MM/DD/YYYY date: " + text);
+        Date date = new Date(parts[2] + "-" + parts[0] + "-" + parts[1]);
+        if (!date.isValid()) throw new IllegalArgumentException(text + " is not a valid calendar date.");
+        return date;
+    }
+
+    /**
+     * Parses an account type by the name used in the accounts file.
+     *
+     * @param text the account type name.
+     * @return the account type.
+     */
+    private static AccountType parseType(String text) {
+        return switch (text.toLowerCase()) {
+            case "checking" -> AccountType.CHECKING;
+            case "savings" -> AccountType.SAVINGS;
+            case "moneymarket" -> AccountType.MONEY_MARKET;
+            case "college" -> AccountType.COLLEGE_CHECKING;
+            case "certificate" -> AccountType.CD;
+            default -> throw new IllegalArgumentException("Unknown account type " + text);
+        };
+    }
+
+    /**
+     * Parses the term of a certificate deposit.
+     *
+     * @param text the term in months.
+     * @return the term, 3, 6, 9 or 12.
+     */
+    private static int parseTerm(String text) {
+        return switch (text) {
+            case "3", "6", "9", "12" -> Integer.parseInt(text);
+            default -> throw new IllegalArgumentException("Term must be 3, 6, 9 or 12 months: " + text);
+        };
+    }
+
+    /**
+     * Parses a campus by its code.
+     *
+     * @param code the campus code.
+     * @return the campus.
+     */
+    private static Campus parseCampus(String code) {
+        for (Campus campus : Campus.values()) {
+            if (campus.getCode().equals(code)) return campus;
+        }
+        throw new IllegalArgumentException("Unknown campus " + code);
+    }
+
+    /**
+     * A status code and a plain text body.
+     *
+     * @param status the HTTP status code.
+     * @param body   the body.
+     */
+    private record Response(int status, String body) {
+
+    }
+
+    /**
+     * Runs the server until the process is stopped. Options: --port=PORT
+     * (default 8080) and --accounts=FILE to load accounts at startup.
+     *
+     * @param args the options.
+     * @throws IOException if the port cannot be bound or the accounts cannot be loaded.
+     */
+    public static void main(String[] args) throws IOException {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        int port = 8080;
+        AccountDatabase accountDB = new AccountDatabase();
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            } else if (arg.startsWith("--accounts=")) {
+                accountDB.loadAccounts(new File(arg.substring("--accounts=".length())));
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        TransactionServer server = new TransactionServer(accountDB, new InetSocketAddress(port));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1)));
+        server.start();
+        System.out.println("RU Bank transaction server listening on port " + server.getPort() + ".");
+    }
+}
@@ -0,0 +1,6 @@
+module com.example.project3rubank.server {
+	requires com.example.project3rubank.core;
+	requires jdk.httpserver;
+
+	exports com.example.project3rubank.server;
+}